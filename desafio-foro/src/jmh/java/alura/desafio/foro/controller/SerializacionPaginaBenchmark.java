@@ -0,0 +1,54 @@
+package alura.desafio.foro.controller;
+
+import alura.desafio.foro.domain.topico.DatosListadoTopico;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de la respuesta de GET /topicos (Page&lt;DatosListadoTopico&gt;), con un
+ * ObjectMapper configurado como el de Spring Boot (fechas ISO, módulos registrados).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacionPaginaBenchmark {
+
+    @Param({"10", "100"})
+    private int tamanoPagina;
+
+    private ObjectMapper objectMapper;
+    private Page<DatosListadoTopico> pagina;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<DatosListadoTopico> contenido = new ArrayList<>(tamanoPagina);
+        for (int i = 0; i < tamanoPagina; i++) {
+            contenido.add(new DatosListadoTopico((long) i, "Título del tópico " + i,
+                    "Mensaje del tópico " + i + " con algo de texto para que no sea trivial",
+                    fecha.plusMinutes(i), "ACTIVO", "Autor " + (i % 7), "Curso " + (i % 3)));
+        }
+        pagina = new PageImpl<>(contenido, PageRequest.of(0, tamanoPagina, Sort.by("fechaCreacion")), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,54 @@
+package alura.desafio.foro.domain.topico;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeo entidad -> DTO de una página de tópicos, como hacen el listado y el detalle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeoTopicoBenchmark {
+
+    @Param({"10", "100"})
+    private int tamanoPagina;
+
+    private List<Topico> topicos;
+
+    @Setup
+    public void preparar() {
+        topicos = new ArrayList<>(tamanoPagina);
+        for (int i = 0; i < tamanoPagina; i++) {
+            topicos.add(new Topico(new DatosRegistroTopico(
+                    "Título del tópico " + i,
+                    "Mensaje del tópico " + i + " con algo de texto para que no sea trivial",
+                    "Autor " + (i % 7),
+                    "Curso " + (i % 3))));
+        }
+    }
+
+    @Benchmark
+    public List<DatosListadoTopico> aDatosListado() {
+        List<DatosListadoTopico> datos = new ArrayList<>(topicos.size());
+        for (Topico topico : topicos) {
+            datos.add(new DatosListadoTopico(topico));
+        }
+        return datos;
+    }
+
+    @Benchmark
+    public List<DatosRespuestaTopico> aDatosRespuesta() {
+        List<DatosRespuestaTopico> datos = new ArrayList<>(topicos.size());
+        for (Topico topico : topicos) {
+            datos.add(new DatosRespuestaTopico(topico));
+        }
+        return datos;
+    }
+}
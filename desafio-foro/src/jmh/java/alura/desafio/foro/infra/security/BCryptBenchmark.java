@@ -0,0 +1,41 @@
+package alura.desafio.foro.infra.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de BCrypt según el factor de trabajo (seguridad.bcrypt.costo). Cada punto extra duplica
+ * el tiempo de encode y de matches, que es lo que paga cada login.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BCryptBenchmark {
+
+    @Param({"8", "10", "12"})
+    private int costo;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        encoder = new BCryptPasswordEncoder(costo);
+        hash = encoder.encode("clave_secreta");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("clave_secreta");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("clave_secreta", hash);
+    }
+}
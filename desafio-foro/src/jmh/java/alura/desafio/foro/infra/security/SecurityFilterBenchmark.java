@@ -0,0 +1,75 @@
+package alura.desafio.foro.infra.security;
+
+import alura.desafio.foro.domain.usuario.Usuario;
+import alura.desafio.foro.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del filtro por request: lectura del header Authorization y, en el recorrido completo,
+ * verificación del token (desde el cache) y armado del principal sin consultar la BD.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityFilterBenchmark {
+
+    private SecurityFilter securityFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest requestSinToken;
+
+    @Setup
+    public void preparar() {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secretOrKey", "clave_de_benchmark_con_longitud_suficiente_para_hs256");
+        ReflectionTestUtils.setField(tokenService, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(tokenService, "maxEntradasCache", 10_000);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(tokenService, "inicializar");
+        String token = tokenService.generarToken(new Usuario(7L, "Ana", "ana@example.com", "x"));
+
+        securityFilter = new SecurityFilter();
+        ReflectionTestUtils.setField(securityFilter, "tokenService", tokenService);
+        ReflectionTestUtils.setField(securityFilter, "principalDesdeToken", true);
+        ReflectionTestUtils.setField(securityFilter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(securityFilter, "inicializar");
+
+        request = new MockHttpServletRequest("GET", "/topicos");
+        request.addHeader("Authorization", "Bearer " + token);
+        requestSinToken = new MockHttpServletRequest("GET", "/topicos");
+    }
+
+    @TearDown(Level.Invocation)
+    public void limpiarContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String recuperarToken() {
+        return securityFilter.recuperarToken(request);
+    }
+
+    @Benchmark
+    public String recuperarTokenSinHeader() {
+        return securityFilter.recuperarToken(requestSinToken);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filtrarConToken() throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        securityFilter.doFilterInternal(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,94 @@
+package alura.desafio.foro.repository;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.domain.topico.Topico;
+import alura.desafio.foro.domain.usuario.Usuario;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de un tópico por id y de un usuario por email (por natural id, como findByEmail) en una sesión
+ * nueva por operación, con el cache de segundo nivel apagado y encendido con la configuración del perfil "cache". Usa H2 en memoria: con MySQL cada fallo cuesta además un viaje de red.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSegundoNivelBenchmark {
+
+    private static final int TOPICOS = 1000;
+    private static final int USUARIOS = 100;
+
+    @Param({"false", "true"})
+    private boolean cache;
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private Long[] idsTopicos;
+
+    @Setup
+    public void preparar() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:cache_" + cache + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+
+        Configuration configuracion = new Configuration()
+                .addAnnotatedClass(Topico.class)
+                .addAnnotatedClass(Usuario.class);
+        configuracion.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        configuracion.setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop");
+        configuracion.setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, Boolean.toString(cache));
+        if (cache) {
+            configuracion.setProperty(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            configuracion.setProperty("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+            configuracion.setProperty("hibernate.javax.cache.uri", "ehcache.xml");
+            configuracion.setProperty("hibernate.javax.cache.missing_cache_strategy", "fail");
+            configuracion.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, "ENABLE_SELECTIVE");
+        }
+        sessionFactory = configuracion.buildSessionFactory();
+
+        idsTopicos = new Long[TOPICOS];
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < TOPICOS; i++) {
+                Topico topico = new Topico(new DatosRegistroTopico(
+                        "Título " + i, "Mensaje del tópico " + i, "Autor " + (i % 7), "Curso " + (i % 3)));
+                session.persist(topico);
+                idsTopicos[i] = topico.getId();
+            }
+            for (int i = 0; i < USUARIOS; i++) {
+                session.persist(new Usuario(null, "Usuario " + i, "usuario" + i + "@example.com", "hash"));
+            }
+        });
+    }
+
+    @TearDown
+    public void cerrar() {
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Topico topicoPorId() {
+        Long id = idsTopicos[ThreadLocalRandom.current().nextInt(TOPICOS)];
+        try (Session session = sessionFactory.openSession()) {
+            return session.find(Topico.class, id);
+        }
+    }
+
+    @Benchmark
+    public Usuario usuarioPorEmail() {
+        String email = "usuario" + ThreadLocalRandom.current().nextInt(USUARIOS) + "@example.com";
+        try (Session session = sessionFactory.openSession()) {
+            return session.bySimpleNaturalId(Usuario.class).load(email);
+        }
+    }
+}
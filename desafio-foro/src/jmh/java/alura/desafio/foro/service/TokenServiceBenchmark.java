@@ -0,0 +1,51 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.usuario.Usuario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación y verificación de JWT. Con maxEntradasCache=0 cada verificación valida la firma y
+ * parsea el token; con cache, las verificaciones repetidas salen del mapa.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    @Param({"0", "10000"})
+    private int maxEntradasCache;
+
+    private TokenService tokenService;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secretOrKey", "clave_de_benchmark_con_longitud_suficiente_para_hs256");
+        ReflectionTestUtils.setField(tokenService, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(tokenService, "maxEntradasCache", maxEntradasCache);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        tokenService.inicializar();
+
+        usuario = new Usuario(7L, "Ana", "ana@example.com", "x");
+        token = tokenService.generarToken(usuario);
+    }
+
+    @Benchmark
+    public String generarToken() {
+        return tokenService.generarToken(usuario);
+    }
+
+    @Benchmark
+    public String getSubject() {
+        return tokenService.getSubject(token);
+    }
+}
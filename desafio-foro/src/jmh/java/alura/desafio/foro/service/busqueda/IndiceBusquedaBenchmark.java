@@ -0,0 +1,137 @@
+package alura.desafio.foro.service.busqueda;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la latencia de una consulta sobre el índice invertido con dos búsquedas sin índice: una consulta
+ * LIKE '%termino%' real sobre H2 en memoria (modo MySQL) y un recorrido en memoria con contains, que es el
+ * piso de cualquier recorrido completo. H2 no es MySQL: sirve para ver el orden de magnitud, no para estimar
+ * la latencia en producción, donde además cada consulta paga el viaje de red. "hibernate" es un término muy
+ * frecuente, "pingüino" uno raro y "kubernetes" no aparece. Con ORDER BY id DESC LIMIT 10 la consulta LIKE
+ * corta en cuanto junta diez coincidencias, así que solo recorre la tabla entera cuando el término es raro o
+ * no existe; el índice, en cambio, puntúa todas las coincidencias para ordenarlas por relevancia.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class IndiceBusquedaBenchmark {
+
+    private static final String[] PALABRAS = {
+            "spring", "security", "jwt", "token", "hibernate", "mysql", "flyway", "migración", "validación",
+            "controlador", "repositorio", "entidad", "consulta", "índice", "paginación", "error", "excepción",
+            "configuración", "despliegue", "docker", "prueba", "integración", "rendimiento", "caché", "filtro"
+    };
+
+    @Param({"200000"})
+    private int cantidad;
+
+    @Param({"hibernate", "pingüino", "kubernetes"})
+    private String termino;
+
+    private List<String[]> topicos;
+    private IndiceInvertido indice;
+    private HikariDataSource dataSource;
+
+    @Setup
+    public void preparar() throws SQLException {
+        Random random = new Random(42);
+        topicos = new ArrayList<>(cantidad);
+        indice = new IndiceInvertido();
+        for (int i = 1; i <= cantidad; i++) {
+            String titulo = frase(random, 6);
+            String mensaje = frase(random, 60) + (i % 997 == 0 ? " pingüino" : "");
+            topicos.add(new String[]{titulo, mensaje});
+            indice.indexar(i, titulo, mensaje);
+        }
+        indice.compactar();
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:busqueda;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        try (Connection conexion = dataSource.getConnection()) {
+            try (Statement statement = conexion.createStatement()) {
+                statement.execute("CREATE TABLE topicos (id BIGINT PRIMARY KEY, titulo VARCHAR(255) NOT NULL, mensaje TEXT NOT NULL)");
+            }
+            try (PreparedStatement insert = conexion.prepareStatement("INSERT INTO topicos (id, titulo, mensaje) VALUES (?, ?, ?)")) {
+                for (int i = 0; i < topicos.size(); i++) {
+                    insert.setLong(1, i + 1);
+                    insert.setString(2, topicos.get(i)[0]);
+                    insert.setString(3, topicos.get(i)[1]);
+                    insert.addBatch();
+                    if (i % 1000 == 999) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    @TearDown
+    public void cerrar() throws SQLException {
+        try (Connection conexion = dataSource.getConnection(); Statement statement = conexion.createStatement()) {
+            statement.execute("DROP TABLE topicos");
+        }
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<ResultadoBusqueda> indice() {
+        return indice.buscar(termino, 10);
+    }
+
+    // La consulta que reemplaza el índice: los 10 más recientes que contienen el término.
+    @Benchmark
+    public List<Long> like() throws SQLException {
+        List<Long> ids = new ArrayList<>(10);
+        try (Connection conexion = dataSource.getConnection();
+             PreparedStatement consulta = conexion.prepareStatement(
+                     "SELECT id FROM topicos WHERE titulo LIKE ? OR mensaje LIKE ? ORDER BY id DESC LIMIT 10")) {
+            String patron = "%" + termino + "%";
+            consulta.setString(1, patron);
+            consulta.setString(2, patron);
+            try (ResultSet resultado = consulta.executeQuery()) {
+                while (resultado.next()) {
+                    ids.add(resultado.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public int contains() {
+        String patron = termino.toLowerCase(Locale.ROOT);
+        int coincidencias = 0;
+        for (String[] topico : topicos) {
+            if (topico[0].toLowerCase(Locale.ROOT).contains(patron)
+                    || topico[1].toLowerCase(Locale.ROOT).contains(patron)) {
+                coincidencias++;
+            }
+        }
+        return coincidencias;
+    }
+
+    private static String frase(Random random, int palabras) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < palabras; i++) {
+            sb.append(PALABRAS[random.nextInt(PALABRAS.length)]).append(' ');
+        }
+        return sb.toString();
+    }
+}
@@ -2,12 +2,33 @@ package alura.desafio.foro;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Arrays;
 
 @SpringBootApplication
+@EnableScheduling
 public class DesafioForoApplication {
 
+	// Pasos del arranque (contexto, beans, Hibernate, Flyway) que se consultan en /actuator/startup.
+	private static final int PASOS_ARRANQUE = 4096;
+
 	public static void main(String[] args) {
-		SpringApplication.run(DesafioForoApplication.class, args);
+		SpringApplication aplicacion = new SpringApplication(DesafioForoApplication.class);
+		if (perfilActivo(args, "arranque")) {
+			aplicacion.setApplicationStartup(new BufferingApplicationStartup(PASOS_ARRANQUE));
+		}
+		aplicacion.run(args);
+	}
+
+	// Antes de run() los perfiles no están resueltos: se leen de los argumentos, propiedades del sistema y variables de entorno.
+	private static boolean perfilActivo(String[] args, String perfil) {
+		StandardEnvironment entorno = new StandardEnvironment();
+		entorno.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+		return Arrays.asList(entorno.getActiveProfiles()).contains(perfil);
 	}
 
 }
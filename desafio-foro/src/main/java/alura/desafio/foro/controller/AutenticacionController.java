@@ -1,54 +1,32 @@
 package alura.desafio.foro.controller;
 
 import alura.desafio.foro.domain.usuario.DatosAutenticacion;
-import alura.desafio.foro.domain.usuario.Usuario;
-import alura.desafio.foro.repository.UsuarioRepository;
-import alura.desafio.foro.service.TokenService;
+import alura.desafio.foro.service.LoginService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/login")
 public class AutenticacionController {
 
     @Autowired
-    private AuthenticationManager authenticationManager;
-
-    @Autowired
-    private UsuarioRepository usuarioRepository;
-
-    @Autowired
-    private TokenService tokenService;
+    private LoginService loginService;
 
+    // El hilo del request queda libre mientras el login corre en su propio pool.
     @PostMapping
-    public ResponseEntity<?> autenticarUsuario(@RequestBody @Valid DatosAutenticacion datos) {
-
-        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                datos.email(), datos.contrasena());
-
-
-        Authentication authentication = authenticationManager.authenticate(authToken);
-
-
-        Usuario usuarioAutenticado = (Usuario) authentication.getPrincipal();
-
-
-        String jwtToken = tokenService.generarToken(usuarioAutenticado);
-
-
-        var datosRespuesta = new DatosRespuestaLogin(jwtToken);
+    public CompletableFuture<ResponseEntity<DatosRespuestaLogin>> autenticarUsuario(@RequestBody @Valid DatosAutenticacion datos) {
 
-        return ResponseEntity.ok(datosRespuesta);
+        return loginService.autenticar(datos.email(), datos.contrasena())
+                .thenApply(jwtToken -> ResponseEntity.ok(new DatosRespuestaLogin(jwtToken)));
     }
 
 
     private record DatosRespuestaLogin(String token) {}
-}
\ No newline at end of file
+}
@@ -1,21 +1,64 @@
 package alura.desafio.foro.controller;
 
+import alura.desafio.foro.domain.topico.CursorTopico;
 import alura.desafio.foro.domain.topico.DatosActualizarTopico;
+import alura.desafio.foro.domain.topico.DatosEstadisticasTopicos;
+import alura.desafio.foro.domain.topico.DatosFiltroTopicos;
 import alura.desafio.foro.domain.topico.DatosListadoTopico;
+import alura.desafio.foro.domain.topico.DatosPaginaCursorTopico;
 import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.domain.topico.DatosResultadoLoteTopico;
+import alura.desafio.foro.domain.topico.DatosResultadoBusquedaTopico;
+import alura.desafio.foro.domain.topico.DatosResumenTopico;
+import alura.desafio.foro.domain.topico.EventoTopico;
 import alura.desafio.foro.domain.topico.Topico;
+import alura.desafio.foro.infra.exception.PrecondicionFallidaException;
+import alura.desafio.foro.infra.exception.SolicitudInvalidaException;
+import alura.desafio.foro.repository.TopicoEspecificaciones;
 import alura.desafio.foro.repository.TopicoRepository;
-import jakarta.transaction.Transactional;
+import alura.desafio.foro.service.CachePaginasTopicos;
+import alura.desafio.foro.service.CacheTopicos;
+import alura.desafio.foro.service.EstadisticasTopicosService;
+import alura.desafio.foro.service.ExportacionTopicosService;
+import alura.desafio.foro.service.FiltroBloomTopicos;
+import alura.desafio.foro.service.LoteTopicosService;
+import alura.desafio.foro.service.importacion.ImportacionTopicosService;
+import alura.desafio.foro.service.importacion.LectorRegistros;
+import alura.desafio.foro.service.busqueda.IndiceBusquedaTopicos;
+import alura.desafio.foro.service.busqueda.ResultadoBusqueda;
+import alura.desafio.foro.service.feed.FeedTopicos;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/topicos")
@@ -24,19 +67,63 @@ public class TopicoController {
     @Autowired
     private TopicoRepository topicoRepository;
 
+    @Autowired
+    private IndiceBusquedaTopicos indiceBusquedaTopicos;
+
+    @Autowired
+    private FiltroBloomTopicos filtroBloomTopicos;
+
+    @Autowired
+    private CacheTopicos cacheTopicos;
+
+    @Autowired
+    private CachePaginasTopicos cachePaginasTopicos;
+
+    @Autowired
+    private LoteTopicosService loteTopicosService;
+
+    @Autowired
+    private EstadisticasTopicosService estadisticasTopicosService;
+
+    @Autowired
+    private ExportacionTopicosService exportacionTopicosService;
+
+    @Autowired
+    private ImportacionTopicosService importacionTopicosService;
+
+    @Autowired
+    private FeedTopicos feedTopicos;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${topicos.lote.max-elementos:1000}")
+    private int maxElementosLote;
+
+    private static final int INTENTOS_ELIMINAR = 3;
+
+    private static final String MENSAJE_TOPICO_MODIFICADO =
+            "El tópico fue modificado por otra solicitud. Vuelve a obtenerlo e intenta nuevamente.";
+
     @PostMapping
     @Transactional
     public ResponseEntity<DatosRespuestaTopico> registrarTopico(
             @RequestBody @Valid DatosRegistroTopico datosRegistroTopico,
             UriComponentsBuilder uriComponentsBuilder) {
 
-        // Validar que no exista un tópico con el mismo título y mensaje
-        if (topicoRepository.existsByTituloAndMensaje(datosRegistroTopico.titulo(), datosRegistroTopico.mensaje())) {
+        // Validar que no exista un tópico con el mismo título y mensaje (solo se consulta la BD si el filtro no lo descarta)
+        String hashContenido = Topico.calcularHashContenido(datosRegistroTopico.titulo(), datosRegistroTopico.mensaje());
+        if (filtroBloomTopicos.puedeContener(hashContenido) && topicoRepository.existsByHashContenido(hashContenido)) {
             return ResponseEntity.badRequest().build();
         }
 
         Topico topico = new Topico(datosRegistroTopico);
         topicoRepository.save(topico);
+        filtroBloomTopicos.agregar(hashContenido);
+        eventPublisher.publishEvent(EventoTopico.creado(topico));
 
         DatosRespuestaTopico datosRespuestaTopico = new DatosRespuestaTopico(topico);
 
@@ -44,43 +131,246 @@ public class TopicoController {
         return ResponseEntity.created(url).body(datosRespuestaTopico);
     }
 
+    @PostMapping("/lote")
+    public ResponseEntity<List<DatosResultadoLoteTopico>> registrarLoteTopicos(
+            @RequestBody List<DatosRegistroTopico> lote) {
+
+        if (lote.size() > maxElementosLote) {
+            throw new SolicitudInvalidaException("El lote admite como máximo " + maxElementosLote + " tópicos.");
+        }
+        return ResponseEntity.ok(loteTopicosService.registrar(lote));
+    }
+
+    // El cuerpo se lee a medida que se importa y el reporte (NDJSON) se escribe en la respuesta lote a lote.
+    @PostMapping(value = "/importar", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public void importarTopicos(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType("text/csv"));
+        LectorRegistros lector = importacionTopicosService.crearLector(request.getInputStream(), csv);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        importacionTopicosService.importar(lector, response.getOutputStream());
+    }
+
     // --- Método actualizarTopico CORREGIDO ---
+    // Con If-Match (el ETag de GET /topicos/{id}) la edición solo se aplica si nadie cambió el tópico desde entonces; si no, 412.
     @PutMapping("/{id}")
     @Transactional
     public ResponseEntity<DatosRespuestaTopico> actualizarTopico(
             @PathVariable Long id, // Captura el ID de la URL
-            @RequestBody @Valid DatosActualizarTopico datosActualizarTopico) {
+            @RequestBody @Valid DatosActualizarTopico datosActualizarTopico,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
 
+        Set<Long> versiones = versionesIfMatch(ifMatch);
+        if (versiones != null && versiones.size() == 1 && datosActualizarTopico.actualizableSinCargar()) {
+            return actualizarSinCargar(id, versiones.iterator().next(), datosActualizarTopico, prefer);
+        }
 
+        // Sin If-Match (o con título o mensaje solos) se lee el tópico: estadísticas, feed e índice reciben las
+        // dos instantáneas.
         Topico topico = topicoRepository.getReferenceById(id);
+        if (topico.estaEliminado()) {
+            throw new EntityNotFoundException();
+        }
+        if (versiones != null && !versiones.contains(topico.getVersion())) {
+            throw new PrecondicionFallidaException(MENSAJE_TOPICO_MODIFICADO);
+        }
+        var anterior = EventoTopico.instantanea(topico);
 
         topico.actualizarDatos(datosActualizarTopico);
+        // El UPDATE sale ahora: la respuesta lleva la versión nueva y una edición concurrente se detecta aquí.
+        try {
+            topicoRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            if (versiones != null) {
+                throw new PrecondicionFallidaException(MENSAJE_TOPICO_MODIFICADO);
+            }
+            throw e;
+        }
+        filtroBloomTopicos.agregar(topico.getHashContenido());
+        eventPublisher.publishEvent(EventoTopico.actualizado(anterior, topico));
 
+        return respuestaActualizacion(topico, prefer);
+    }
 
+    // Un único UPDATE con la versión del If-Match en el WHERE, sin SELECT previo. El tópico se lee después (el
+    // UPDATE ya lo quitó del cache de segundo nivel) para la respuesta, el feed y el índice de búsqueda.
+    private ResponseEntity<DatosRespuestaTopico> actualizarSinCargar(Long id, long version,
+                                                                     DatosActualizarTopico datos, String prefer) {
+        if (topicoRepository.actualizarSiVersion(id, version, datos) == 0) {
+            if (!topicoRepository.existsById(id)) {
+                throw new EntityNotFoundException();
+            }
+            throw new PrecondicionFallidaException(MENSAJE_TOPICO_MODIFICADO);
+        }
+        Topico topico = topicoRepository.findById(id).orElseThrow(EntityNotFoundException::new);
+        filtroBloomTopicos.agregar(topico.getHashContenido());
+        eventPublisher.publishEvent(EventoTopico.actualizadoSinAnterior(topico, datos));
+
+        return respuestaActualizacion(topico, prefer);
+    }
+
+    private static ResponseEntity<DatosRespuestaTopico> respuestaActualizacion(Topico topico, String prefer) {
+        String etag = CacheTopicos.etag(topico.getVersion());
+        // Con Prefer: return=minimal basta el ETag nuevo: se ahorra serializar el cuerpo.
+        if (prefer != null && prefer.contains("return=minimal")) {
+            return ResponseEntity.noContent().eTag(etag).header("Preference-Applied", "return=minimal").build();
+        }
         DatosRespuestaTopico datosRespuestaTopico = new DatosRespuestaTopico(topico);
-        return ResponseEntity.ok(datosRespuestaTopico);
+        return ResponseEntity.ok().eTag(etag).body(datosRespuestaTopico);
+    }
+
+    // Versiones aceptadas por If-Match; null si no hay condición (sin el encabezado o "*").
+    private static Set<Long> versionesIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versiones = new HashSet<>();
+        for (String etag : ifMatch.split(",")) {
+            Long version = CacheTopicos.versionDeEtag(etag.trim());
+            if (version != null) {
+                versiones.add(version);
+            }
+        }
+        return versiones;
     }
 
+    // Sin transacción propia: un acierto del cache no toma conexión. listarPorIds es readOnly, así que con
+    // réplica configurada las consultas van a la réplica (ver RutaDataSource).
     @GetMapping
     public ResponseEntity<Page<DatosListadoTopico>> listadoTopicos(
-            @PageableDefault(size = 10, sort = "fechaCreacion") Pageable paginacion) {
+            DatosFiltroTopicos filtro,
+            @PageableDefault(size = 10, sort = "fechaCreacion") Pageable paginacion,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String aceptaCodificacion,
+            HttpServletResponse response) throws IOException {
+
+        // Páginas calientes: se copian a la respuesta los bytes ya serializados; null indica que ya se respondió.
+        if (TopicoEspecificaciones.sinCondiciones(filtro) && cachePaginasTopicos.admite(paginacion)) {
+            cachePaginasTopicos.escribir(paginacion, aceptaCodificacion, response);
+            return null;
+        }
         return ResponseEntity.ok(
-                topicoRepository.findAll(paginacion)
+                topicoRepository.listarPorIds(TopicoEspecificaciones.filtrar(filtro), paginacion)
                         .map(DatosListadoTopico::new)
         );
     }
 
+    // Para vistas de feed: mismas páginas y filtros que el listado, sin el mensaje completo ni entidades administradas.
+    @GetMapping("/resumen")
+    public ResponseEntity<Page<DatosResumenTopico>> listadoResumenTopicos(
+            DatosFiltroTopicos filtro,
+            @PageableDefault(size = 10, sort = "fechaCreacion") Pageable paginacion) {
+        return ResponseEntity.ok(topicoRepository.listarResumen(TopicoEspecificaciones.filtrar(filtro), paginacion));
+    }
+
+    // Conteos mantenidos en memoria; no recorre la tabla en cada llamada.
+    @GetMapping("/estadisticas")
+    public ResponseEntity<DatosEstadisticasTopicos> estadisticasTopicos() {
+        return ResponseEntity.ok(estadisticasTopicosService.obtener());
+    }
+
+    // Altas, ediciones y bajas en vivo (SSE); al reconectar, el navegador manda Last-Event-ID y se retoma desde ahí.
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feedTopicos(@RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        return feedTopicos.suscribir(ultimoEventoId);
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<DatosPaginaCursorTopico> listadoTopicosPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        int tamano = Math.min(Math.max(size, 1), 100);
+        // Se pide un elemento de más solo para saber si existe una página siguiente.
+        Pageable limite = PageRequest.ofSize(tamano + 1);
+
+        List<Topico> topicos;
+        if (cursor == null || cursor.isBlank()) {
+            topicos = topicoRepository.buscarPrimerosPorFechaCreacion(limite);
+        } else {
+            CursorTopico posicion = CursorTopico.decodificar(cursor);
+            topicos = topicoRepository.buscarSiguientesPorFechaCreacion(posicion.fechaCreacion(), posicion.id(), limite);
+        }
+
+        String siguienteCursor = null;
+        if (topicos.size() > tamano) {
+            topicos = topicos.subList(0, tamano);
+            siguienteCursor = new CursorTopico(topicos.get(tamano - 1)).codificar();
+        }
+
+        return ResponseEntity.ok(new DatosPaginaCursorTopico(
+                topicos.stream().map(DatosListadoTopico::new).toList(),
+                siguienteCursor
+        ));
+    }
+
+    @GetMapping("/buscar")
+    public ResponseEntity<List<DatosResultadoBusquedaTopico>> buscarTopicos(
+            @RequestParam("q") String consulta,
+            @RequestParam(defaultValue = "10") int limite) {
+
+        List<ResultadoBusqueda> resultados = indiceBusquedaTopicos.buscar(consulta, Math.min(Math.max(limite, 1), 100));
+
+        Map<Long, Topico> topicos = topicoRepository.findAllById(resultados.stream().map(ResultadoBusqueda::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Topico::getId, Function.identity()));
+
+        // Se conserva el orden del ranking; findAllById no garantiza ninguno.
+        return ResponseEntity.ok(resultados.stream()
+                .filter(r -> topicos.containsKey(r.id()))
+                .map(r -> new DatosResultadoBusquedaTopico(topicos.get(r.id()), r.puntaje()))
+                .toList());
+    }
+
+    // Se escribe directamente en la respuesta: la exportación puede durar más que el timeout de una respuesta asíncrona.
+    // ExportacionTopicosService lee en una transacción readOnly (la réplica, si hay).
+    @GetMapping("/exportar")
+    public void exportarTopicos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String curso,
+            HttpServletResponse response) throws IOException {
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        exportacionTopicosService.exportar(desde, hasta, curso, response.getOutputStream());
+    }
+
+    // Sin transacción propia: un acierto del cache no toma conexión y los fallos se leen en una transacción readOnly
+    // (ver CacheTopicos).
     @GetMapping("/{id}")
     public ResponseEntity<DatosRespuestaTopico> retornaDatosTopico(@PathVariable Long id) {
-        Topico topico = topicoRepository.getReferenceById(id);
-        var datosTopico = new DatosRespuestaTopico(topico);
-        return ResponseEntity.ok(datosTopico);
+        CacheTopicos.Entrada entrada = cacheTopicos.obtener(id);
+        var datos = entrada.datos();
+        var datosTopico = new DatosRespuestaTopico(datos.id(), datos.titulo(), datos.mensaje(),
+                datos.fechaCreacion(), datos.status(), datos.autor(), datos.curso());
+        // Con If-None-Match igual al ETag, Spring responde 304 sin serializar el cuerpo.
+        return ResponseEntity.ok().eTag(entrada.etag()).body(datosTopico);
     }
 
     @DeleteMapping("/{id}")
-    @Transactional
     public ResponseEntity<Void> eliminarTopico(@PathVariable Long id) {
-        topicoRepository.deleteById(id);
-        return ResponseEntity.noContent().build();
+        // Baja lógica (un UPDATE de status); ArchivoTopicosService mueve después la fila a topicos_archivados.
+        // Sin If-Match la baja no compite con las ediciones: si otra solicitud cambió la versión entre la lectura
+        // y el UPDATE, se vuelve a leer el tópico y se intenta de nuevo.
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        for (int intento = 1; ; intento++) {
+            try {
+                transaccion.executeWithoutResult(status -> topicoRepository.findById(id)
+                        .filter(topico -> !topico.estaEliminado())
+                        .ifPresent(topico -> {
+                            var evento = EventoTopico.eliminado(topico);
+                            topico.eliminar();
+                            topicoRepository.flush();
+                            eventPublisher.publishEvent(evento);
+                        }));
+                return ResponseEntity.noContent().build();
+            } catch (ObjectOptimisticLockingFailureException e) {
+                if (intento == INTENTOS_ELIMINAR) {
+                    throw e;
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,37 @@
+package alura.desafio.foro.domain.topico;
+
+import alura.desafio.foro.infra.exception.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posición (fechaCreacion, id) del último tópico entregado; viaja al cliente como texto opaco.
+public record CursorTopico(
+        LocalDateTime fechaCreacion,
+        Long id
+) {
+
+    public CursorTopico(Topico topico) {
+        this(topico.getFechaCreacion(), topico.getId());
+    }
+
+    public String codificar() {
+        String valor = fechaCreacion + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorTopico decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            return new CursorTopico(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.valueOf(valor.substring(separador + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new CursorInvalidoException("El cursor de paginación no es válido.");
+        }
+    }
+}
@@ -14,4 +14,15 @@ public record DatosActualizarTopico(
     public DatosActualizarTopico(String titulo, String mensaje, String autor, String curso) {
         this(Optional.ofNullable(titulo), Optional.ofNullable(mensaje), Optional.ofNullable(autor), Optional.ofNullable(curso));
     }
+
+    // El hash de contenido se puede calcular sin leer el tópico solo si llegan título y mensaje, o ninguno de los dos.
+    public boolean actualizableSinCargar() {
+        return titulo.isPresent() == mensaje.isPresent()
+                && (titulo.isPresent() || autor.isPresent() || curso.isPresent());
+    }
+
+    // Columnas que cuentan las estadísticas (status no se edita con PUT).
+    public boolean cambiaConteos() {
+        return autor.isPresent() || curso.isPresent();
+    }
 }
\ No newline at end of file
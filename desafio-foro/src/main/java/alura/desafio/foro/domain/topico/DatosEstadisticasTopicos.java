@@ -0,0 +1,15 @@
+package alura.desafio.foro.domain.topico;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record DatosEstadisticasTopicos(
+        long total,
+        Map<String, Long> porCurso,
+        Map<String, Long> porStatus,
+        Map<String, Long> porAutor,
+        Map<LocalDate, Long> creadosPorDia,
+        LocalDateTime ultimaReconciliacion
+) {
+}
\ No newline at end of file
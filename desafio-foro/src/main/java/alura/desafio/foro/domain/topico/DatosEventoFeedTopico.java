@@ -0,0 +1,12 @@
+package alura.desafio.foro.domain.topico;
+
+// Cuerpo de cada evento de GET /topicos/feed; 'topico' es null en las eliminaciones.
+public record DatosEventoFeedTopico(
+        EventoTopico.Tipo tipo,
+        Long id,
+        DatosRespuestaTopico topico
+) {
+    public DatosEventoFeedTopico(EventoTopico evento) {
+        this(evento.tipo(), evento.id(), evento.actual());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package alura.desafio.foro.domain.topico;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Parámetros opcionales de GET /topicos; 'desde' y 'hasta' son fechas de creación inclusive.
+public record DatosFiltroTopicos(
+        String curso,
+        String status,
+        String autor,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta
+) {
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package alura.desafio.foro.domain.topico;
+
+public record DatosHashTopico(
+        Long id,
+        String hashContenido
+) {
+}
@@ -0,0 +1,9 @@
+package alura.desafio.foro.domain.topico;
+
+import java.util.List;
+
+public record DatosPaginaCursorTopico(
+        List<DatosListadoTopico> content,
+        String siguienteCursor
+) {
+}
@@ -0,0 +1,28 @@
+package alura.desafio.foro.domain.topico;
+
+import java.util.List;
+
+// Línea del reporte NDJSON de POST /topicos/importar: un error por registro rechazado y un avance por lote.
+public record DatosReporteImportacion(
+        String tipo,
+        Long linea,
+        DatosResultadoLoteTopico.Resultado resultado,
+        List<String> errores,
+        long procesados,
+        long creados,
+        long duplicados,
+        long invalidos,
+        long fallidos
+) {
+
+    public static DatosReporteImportacion error(long linea, DatosResultadoLoteTopico.Resultado resultado, List<String> errores,
+                                                DatosReporteImportacion avance) {
+        return new DatosReporteImportacion("ERROR", linea, resultado, errores,
+                avance.procesados, avance.creados, avance.duplicados, avance.invalidos, avance.fallidos);
+    }
+
+    public static DatosReporteImportacion avance(String tipo, long procesados, long creados, long duplicados, long invalidos,
+                                                 long fallidos) {
+        return new DatosReporteImportacion(tipo, null, null, null, procesados, creados, duplicados, invalidos, fallidos);
+    }
+}
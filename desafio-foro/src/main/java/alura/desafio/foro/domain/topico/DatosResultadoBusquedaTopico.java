@@ -0,0 +1,27 @@
+package alura.desafio.foro.domain.topico;
+
+import java.time.LocalDateTime;
+
+public record DatosResultadoBusquedaTopico(
+        Long id,
+        String titulo,
+        String mensaje,
+        LocalDateTime fechaCreacion,
+        String status,
+        String autor,
+        String curso,
+        double puntaje
+) {
+    public DatosResultadoBusquedaTopico(Topico topico, double puntaje) {
+        this(
+                topico.getId(),
+                topico.getTitulo(),
+                topico.getMensaje(),
+                topico.getFechaCreacion(),
+                topico.getStatus(),
+                topico.getAutor(),
+                topico.getCurso(),
+                puntaje
+        );
+    }
+}
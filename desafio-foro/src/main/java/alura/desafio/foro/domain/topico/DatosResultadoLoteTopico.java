@@ -0,0 +1,29 @@
+package alura.desafio.foro.domain.topico;
+
+import java.util.List;
+
+public record DatosResultadoLoteTopico(
+        int indice,
+        Resultado resultado,
+        Long id,
+        List<String> errores
+) {
+
+    // FALLIDO solo aparece en el reporte de la importación: el lote entero no se pudo guardar.
+    public enum Resultado {
+        CREADO, DUPLICADO, INVALIDO, FALLIDO
+    }
+
+    public static DatosResultadoLoteTopico creado(int indice, Long id) {
+        return new DatosResultadoLoteTopico(indice, Resultado.CREADO, id, List.of());
+    }
+
+    public static DatosResultadoLoteTopico duplicado(int indice) {
+        return new DatosResultadoLoteTopico(indice, Resultado.DUPLICADO, null,
+                List.of("Ya existe un tópico con el mismo título y mensaje."));
+    }
+
+    public static DatosResultadoLoteTopico invalido(int indice, List<String> errores) {
+        return new DatosResultadoLoteTopico(indice, Resultado.INVALIDO, null, errores);
+    }
+}
@@ -0,0 +1,16 @@
+package alura.desafio.foro.domain.topico;
+
+import java.time.LocalDateTime;
+
+// Proyección de GET /topicos/resumen: se arma en la consulta, sin cargar entidades.
+public record DatosResumenTopico(
+        Long id,
+        String titulo,
+        String extractoMensaje,
+        LocalDateTime fechaCreacion,
+        String status,
+        String autor,
+        String curso
+) {
+    public static final int LARGO_EXTRACTO = 200;
+}
\ No newline at end of file
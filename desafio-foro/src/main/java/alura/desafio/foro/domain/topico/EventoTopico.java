@@ -0,0 +1,45 @@
+package alura.desafio.foro.domain.topico;
+
+// Cambio sobre un tópico publicado desde TopicoController; 'anterior' y 'actual' son copias inmutables.
+// 'cambios' solo viene en las actualizaciones sin instantánea anterior (ver sinAnterior()).
+public record EventoTopico(
+        Tipo tipo,
+        Long id,
+        DatosRespuestaTopico anterior,
+        DatosRespuestaTopico actual,
+        DatosActualizarTopico cambios
+) {
+
+    public enum Tipo {
+        CREADO, ACTUALIZADO, ELIMINADO
+    }
+
+    public static EventoTopico creado(Topico topico) {
+        return new EventoTopico(Tipo.CREADO, topico.getId(), null, new DatosRespuestaTopico(topico), null);
+    }
+
+    public static EventoTopico actualizado(DatosRespuestaTopico anterior, Topico topico) {
+        return new EventoTopico(Tipo.ACTUALIZADO, topico.getId(), anterior, new DatosRespuestaTopico(topico), null);
+    }
+
+    // Actualización con un UPDATE directo (PUT con If-Match): el tópico se lee después, así que no hay estado anterior.
+    public static EventoTopico actualizadoSinAnterior(Topico topico, DatosActualizarTopico cambios) {
+        return new EventoTopico(Tipo.ACTUALIZADO, topico.getId(), null, new DatosRespuestaTopico(topico), cambios);
+    }
+
+    public static EventoTopico eliminado(Topico topico) {
+        return eliminado(topico.getId(), new DatosRespuestaTopico(topico));
+    }
+
+    public static EventoTopico eliminado(Long id, DatosRespuestaTopico anterior) {
+        return new EventoTopico(Tipo.ELIMINADO, id, anterior, null, null);
+    }
+
+    public boolean sinAnterior() {
+        return tipo == Tipo.ACTUALIZADO && anterior == null;
+    }
+
+    public static DatosRespuestaTopico instantanea(Topico topico) {
+        return new DatosRespuestaTopico(topico);
+    }
+}
@@ -0,0 +1,52 @@
+package alura.desafio.foro.domain.topico;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Fila del outbox de tópicos (ver V6). 'datos' es el JSON que recibe el feed tal cual.
+@Table(name = "eventos_topicos")
+@Entity(name = "RegistroEventoTopico")
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class RegistroEventoTopico {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "eventos_topicos_id")
+    @TableGenerator(name = "eventos_topicos_id", table = "generador_ids", pkColumnName = "entidad",
+            valueColumnName = "siguiente_valor", pkColumnValue = "eventos_topicos", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private EventoTopico.Tipo tipo;
+
+    @Column(name = "topico_id")
+    private Long topicoId;
+
+    private String datos;
+
+    @Column(name = "fecha_creacion")
+    private LocalDateTime fechaCreacion;
+
+    // La pone el primario al insertar (ver V12); ordena los pendientes entre instancias.
+    @Column(name = "fecha_registro", insertable = false, updatable = false)
+    private LocalDateTime fechaRegistro;
+
+    // Orden de publicación en el feed; la asigna el relay y es el id de evento SSE.
+    private Long secuencia;
+
+    public RegistroEventoTopico(EventoTopico evento, String datos) {
+        this.tipo = evento.tipo();
+        this.topicoId = evento.id();
+        this.datos = datos;
+        this.fechaCreacion = LocalDateTime.now();
+    }
+
+    public void asignarSecuencia(long secuencia) {
+        this.secuencia = secuencia;
+    }
+}
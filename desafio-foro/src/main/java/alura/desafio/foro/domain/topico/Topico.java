@@ -5,8 +5,16 @@ import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 
 @Table(name = "topicos")
 @Entity(name = "Topico")
@@ -14,10 +22,23 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "id")
+// Cache de segundo nivel: solo con el perfil "cache" (ver ehcache.xml).
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "topicos")
+// Baja lógica: los eliminados no aparecen en ninguna consulta JPA hasta que se archivan (ArchivoTopicosService).
+@SQLRestriction("status <> '" + Topico.STATUS_ELIMINADO + "'")
+// El UPDATE lleva solo las columnas modificadas: editar el curso no reescribe el mensaje.
+@DynamicUpdate
 public class Topico {
 
+    public static final String STATUS_ACTIVO = "ACTIVO";
+    public static final String STATUS_ELIMINADO = "ELIMINADO";
+
+    // Ids por bloques (tabla generador_ids) para que Hibernate pueda agrupar los INSERT en batch JDBC.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "topicos_id")
+    @TableGenerator(name = "topicos_id", table = "generador_ids", pkColumnName = "entidad",
+            valueColumnName = "siguiente_valor", pkColumnValue = "topicos", allocationSize = 50)
     private Long id;
 
     private String titulo;
@@ -30,13 +51,22 @@ public class Topico {
     private String autor;
     private String curso;
 
+    // SHA-256 de titulo + mensaje; respaldado por un índice único (ver V4).
+    @Column(name = "hash_contenido", columnDefinition = "char(64)")
+    private String hashContenido;
+
+    // Control optimista (ver V10): es también el ETag del tópico.
+    @Version
+    private Long version;
+
     public Topico(DatosRegistroTopico datos) {
         this.titulo = datos.titulo();
         this.mensaje = datos.mensaje();
         this.fechaCreacion = LocalDateTime.now();
-        this.status = "ACTIVO";
+        this.status = STATUS_ACTIVO;
         this.autor = datos.autor();
         this.curso = datos.curso();
+        this.hashContenido = calcularHashContenido(titulo, mensaje);
     }
 
     public void actualizarDatos(DatosActualizarTopico datos) {
@@ -46,5 +76,29 @@ public class Topico {
         datos.autor().ifPresent(a -> this.autor = a);
         datos.curso().ifPresent(c -> this.curso = c);
         // status y fechaCreacion no se actualizan aquí.
+        this.hashContenido = calcularHashContenido(titulo, mensaje);
+    }
+
+    // Sin hash, el índice único deja volver a publicar el mismo contenido.
+    public void eliminar() {
+        this.status = STATUS_ELIMINADO;
+        this.hashContenido = null;
+    }
+
+    // Un tópico eliminado puede seguir en el cache de segundo nivel, que no aplica @SQLRestriction.
+    public boolean estaEliminado() {
+        return STATUS_ELIMINADO.equals(status);
+    }
+
+    public static String calcularHashContenido(String titulo, String mensaje) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(titulo.getBytes(StandardCharsets.UTF_8));
+            sha256.update((byte) 0);
+            sha256.update(mensaje.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
 }
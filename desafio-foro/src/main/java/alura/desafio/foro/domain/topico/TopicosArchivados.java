@@ -0,0 +1,11 @@
+package alura.desafio.foro.domain.topico;
+
+import java.util.List;
+
+// Tópicos que ArchivoTopicosService movió a topicos_archivados. 'incluyeVigentes' indica que alguno no
+// estaba eliminado, es decir, que todavía figuraba en listados y estadísticas.
+public record TopicosArchivados(
+        List<Long> ids,
+        boolean incluyeVigentes
+) {
+}
\ No newline at end of file
@@ -1,14 +1,16 @@
 package alura.desafio.foro.domain.usuario;
 
 import alura.desafio.foro.repository.UsuarioRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class AutenticacionService implements UserDetailsService {
+public class AutenticacionService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UsuarioRepository usuarioRepository;
@@ -19,4 +21,15 @@ public class AutenticacionService implements UserDetailsService {
         return usuarioRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con email: " + username));
     }
+
+    // Lo llama DaoAuthenticationProvider tras un login exitoso cuando el hash guardado usa un costo
+    // de BCrypt menor al configurado: la contraseña se re-hashea sin pedirle nada al usuario.
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Usuario usuario = (Usuario) user;
+        usuarioRepository.actualizarContrasena(usuario.getId(), newPassword);
+        usuario.actualizarContrasena(newPassword);
+        return usuario;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package alura.desafio.foro.domain.usuario;
+
+import java.security.Principal;
+
+// Principal liviano construido a partir de un JWT ya verificado, sin consultar la tabla usuarios.
+public record UsuarioAutenticado(
+        Long id,
+        String email
+) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,27 @@
+package alura.desafio.foro.infra.arranque;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MigracionesConfigurations {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracionesConfigurations.class);
+
+    // Solo la instancia líder migra (y con eso valida) db/migration. El resto arranca sin leer los scripts
+    // ni la tabla de historial de Flyway: asumen que el líder ya dejó el esquema al día.
+    @Bean
+    public FlywayMigrationStrategy estrategiaMigraciones(@Value("${arranque.migraciones.lider:true}") boolean lider) {
+        return flyway -> {
+            if (lider) {
+                flyway.migrate();
+            } else {
+                log.info("Instancia no líder: se omite la migración y validación de Flyway");
+            }
+        };
+    }
+}
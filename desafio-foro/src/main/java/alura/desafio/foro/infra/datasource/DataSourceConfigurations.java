@@ -0,0 +1,71 @@
+package alura.desafio.foro.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// Solo con spring.datasource.replica.url definida; si no, Spring Boot arma el DataSource único de siempre.
+@Configuration
+@ConditionalOnExpression("!'${spring.datasource.replica.url:}'.isBlank()")
+public class DataSourceConfigurations {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource dataSourceReplica(
+            @Value("${spring.datasource.replica.url}") String url,
+            @Value("${spring.datasource.replica.username:${spring.datasource.username:}}") String usuario,
+            @Value("${spring.datasource.replica.password:${spring.datasource.password:}}") String contrasena) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(DatabaseDriver.fromJdbcUrl(url).getDriverClassName())
+                .url(url)
+                .username(usuario)
+                .password(contrasena)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public VentanaLecturaPropia ventanaLecturaPropia(
+            @Value("${spring.datasource.replica.ventana-lectura-propia-ms:2000}") long ventanaMs,
+            @Value("${spring.datasource.replica.max-usuarios-ventana:10000}") int maxUsuarios) {
+        return new VentanaLecturaPropia(ventanaMs, maxUsuarios);
+    }
+
+    // El que usan JPA, Flyway y el resto de la aplicación.
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+                                 @Qualifier("dataSourceReplica") DataSource replica,
+                                 VentanaLecturaPropia ventanaLecturaPropia) {
+        RutaDataSource ruta = new RutaDataSource(ventanaLecturaPropia);
+        ruta.setTargetDataSources(Map.of(
+                RutaDataSource.Destino.PRIMARIO, primario,
+                RutaDataSource.Destino.REPLICA, replica));
+        ruta.setDefaultTargetDataSource(primario);
+        ruta.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(ruta);
+    }
+}
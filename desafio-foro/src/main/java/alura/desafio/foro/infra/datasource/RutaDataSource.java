@@ -0,0 +1,32 @@
+package alura.desafio.foro.infra.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Elige el pool al obtener la conexión: las transacciones readOnly van a la réplica, salvo que el usuario
+ * esté dentro de su ventana de lectura propia; todo lo demás (escrituras, Flyway, accesos sin transacción)
+ * va al primario. Necesita {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * por delante: el gestor de transacciones pide la conexión antes de marcar la transacción como readOnly.
+ */
+public class RutaDataSource extends AbstractRoutingDataSource {
+
+    enum Destino {
+        PRIMARIO, REPLICA
+    }
+
+    private final VentanaLecturaPropia ventanaLecturaPropia;
+
+    public RutaDataSource(VentanaLecturaPropia ventanaLecturaPropia) {
+        this.ventanaLecturaPropia = ventanaLecturaPropia;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ventanaLecturaPropia.dentroDeVentana(VentanaLecturaPropia.usuarioActual())) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIO;
+    }
+}
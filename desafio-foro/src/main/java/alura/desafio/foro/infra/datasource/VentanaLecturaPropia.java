@@ -0,0 +1,78 @@
+package alura.desafio.foro.infra.datasource;
+
+import alura.desafio.foro.domain.topico.EventoTopico;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Usuarios que modificaron tópicos hace menos de la ventana configurada: sus lecturas van al primario
+ * para que vean sus propios cambios aunque la réplica todavía no los haya recibido. Es por instancia,
+ * igual que el resto de los caches de la aplicación.
+ * <p>
+ * Guarda a lo sumo {@code maxUsuarios}: si con los vencidos fuera sigue lleno, sale el que escribió hace más
+ * tiempo, cuyas lecturas vuelven a la réplica antes de que termine su ventana.
+ */
+public class VentanaLecturaPropia {
+
+    private final Map<String, Long> escriturasRecientes = new ConcurrentHashMap<>();
+    private final long ventanaNanos;
+    private final int maxUsuarios;
+
+    public VentanaLecturaPropia(long ventanaMs, int maxUsuarios) {
+        this.ventanaNanos = TimeUnit.MILLISECONDS.toNanos(ventanaMs);
+        this.maxUsuarios = maxUsuarios;
+    }
+
+    // Después del commit: la ventana cuenta desde que el cambio existe en el primario.
+    @TransactionalEventListener
+    public void alCambiarTopico(EventoTopico evento) {
+        registrarEscritura(usuarioActual());
+    }
+
+    public void registrarEscritura(String usuario) {
+        if (usuario == null || ventanaNanos <= 0) {
+            return;
+        }
+        long ahora = System.nanoTime();
+        if (escriturasRecientes.size() >= maxUsuarios && !escriturasRecientes.containsKey(usuario)) {
+            escriturasRecientes.values().removeIf(hasta -> hasta - ahora <= 0);
+            while (!escriturasRecientes.isEmpty() && escriturasRecientes.size() >= maxUsuarios) {
+                quitarMasAntigua(ahora);
+            }
+        }
+        escriturasRecientes.put(usuario, ahora + ventanaNanos);
+    }
+
+    // Recorre el mapa entero, pero solo cuando está lleno de ventanas vigentes.
+    private void quitarMasAntigua(long ahora) {
+        escriturasRecientes.entrySet().stream()
+                .min(Comparator.comparingLong(entrada -> entrada.getValue() - ahora))
+                .ifPresent(entrada -> escriturasRecientes.remove(entrada.getKey(), entrada.getValue()));
+    }
+
+    public boolean dentroDeVentana(String usuario) {
+        if (usuario == null) {
+            return false;
+        }
+        Long hasta = escriturasRecientes.get(usuario);
+        if (hasta == null) {
+            return false;
+        }
+        if (hasta - System.nanoTime() > 0) {
+            return true;
+        }
+        escriturasRecientes.remove(usuario, hasta);
+        return false;
+    }
+
+    static String usuarioActual() {
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacion != null && autenticacion.isAuthenticated() ? autenticacion.getName() : null;
+    }
+}
@@ -0,0 +1,7 @@
+package alura.desafio.foro.infra.exception;
+
+public class CursorInvalidoException extends RuntimeException {
+    public CursorInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package alura.desafio.foro.infra.exception;
+
+// If-Match que no coincide con la versión actual del recurso: se responde 412.
+public class PrecondicionFallidaException extends RuntimeException {
+    public PrecondicionFallidaException(String message) {
+        super(message);
+    }
+}
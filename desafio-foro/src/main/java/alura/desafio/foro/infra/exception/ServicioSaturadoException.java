@@ -0,0 +1,7 @@
+package alura.desafio.foro.infra.exception;
+
+public class ServicioSaturadoException extends RuntimeException {
+    public ServicioSaturadoException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
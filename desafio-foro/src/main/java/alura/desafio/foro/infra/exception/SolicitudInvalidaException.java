@@ -0,0 +1,7 @@
+package alura.desafio.foro.infra.exception;
+
+public class SolicitudInvalidaException extends RuntimeException {
+    public SolicitudInvalidaException(String message) {
+        super(message);
+    }
+}
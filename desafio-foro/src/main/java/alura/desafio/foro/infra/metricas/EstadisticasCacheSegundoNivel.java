@@ -0,0 +1,71 @@
+package alura.desafio.foro.infra.metricas;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Aciertos del cache de segundo nivel según las estadísticas de Hibernate (requiere generate_statistics).
+ * En Prometheus los mismos datos salen por región en hibernate_second_level_cache_requests_total.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+@ManagedResource(objectName = "alura.desafio.foro:name=CacheSegundoNivel")
+public class EstadisticasCacheSegundoNivel {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ManagedAttribute(description = "Entidades y colecciones resueltas desde el cache de segundo nivel")
+    public long getAciertos() {
+        return estadisticas().getSecondLevelCacheHitCount();
+    }
+
+    @ManagedAttribute(description = "Búsquedas en el cache de segundo nivel que fueron a la BD")
+    public long getFallos() {
+        return estadisticas().getSecondLevelCacheMissCount();
+    }
+
+    @ManagedAttribute(description = "Proporción de aciertos del cache de segundo nivel")
+    public double getRatioAciertos() {
+        return ratio(getAciertos(), getFallos());
+    }
+
+    @ManagedAttribute(description = "Proporción de aciertos del cache de natural id (usuarios por email)")
+    public double getRatioAciertosNaturalId() {
+        Statistics estadisticas = estadisticas();
+        return ratio(estadisticas.getNaturalIdCacheHitCount(), estadisticas.getNaturalIdCacheMissCount());
+    }
+
+    @ManagedAttribute(description = "Proporción de aciertos por región")
+    public String getRatioAciertosPorRegion() {
+        Statistics estadisticas = estadisticas();
+        return Arrays.stream(estadisticas.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics estadisticasRegion = estadisticas.getCacheRegionStatistics(region);
+                    double valor = estadisticasRegion != null ? ratio(estadisticasRegion.getHitCount(), estadisticasRegion.getMissCount()) : 0;
+                    return String.format(Locale.ROOT, "%s=%.3f", region, valor);
+                })
+                .collect(Collectors.joining(", "));
+    }
+
+    private Statistics estadisticas() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static double ratio(long aciertos, long fallos) {
+        long total = aciertos + fallos;
+        return total == 0 ? 0 : (double) aciertos / total;
+    }
+}
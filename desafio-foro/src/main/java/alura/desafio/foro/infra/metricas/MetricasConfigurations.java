@@ -0,0 +1,24 @@
+package alura.desafio.foro.infra.metricas;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class MetricasConfigurations {
+
+    // Tiempo y cantidad de ejecuciones por consulta (tag 'query'). Las métricas generales de Hibernate
+    // (statements, sesiones, transacciones) las registra Spring Boot a partir de generate_statistics.
+    @Bean
+    @ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+    public MeterBinder metricasConsultasHibernate(EntityManagerFactory entityManagerFactory) {
+        return new HibernateQueryMetrics(entityManagerFactory.unwrap(SessionFactory.class),
+                "entityManagerFactory", List.of());
+    }
+}
@@ -0,0 +1,153 @@
+package alura.desafio.foro.infra.security;
+
+import alura.desafio.foro.infra.exception.ApiExceptionHandler;
+import alura.desafio.foro.service.TokenService;
+import alura.desafio.foro.service.TokenVerificado;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límite de solicitudes por grupo de rutas, antes de SecurityFilter: una solicitud rechazada no verifica
+ * el JWT, no consulta la BD ni ejecuta BCrypt. Login y registro se limitan por IP; los tópicos, por usuario
+ * si su token ya fue verificado antes (sin volver a validar la firma) y si no por IP.
+ */
+@Component
+public class LimiteSolicitudesFilter extends OncePerRequestFilter {
+
+    enum Grupo { LOGIN, LECTURA, ESCRITURA }
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${seguridad.limite.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${seguridad.limite.login.por-minuto:10}")
+    private int loginPorMinuto;
+
+    @Value("${seguridad.limite.login.rafaga:5}")
+    private int loginRafaga;
+
+    @Value("${seguridad.limite.lectura.por-minuto:1200}")
+    private int lecturaPorMinuto;
+
+    @Value("${seguridad.limite.lectura.rafaga:100}")
+    private int lecturaRafaga;
+
+    @Value("${seguridad.limite.escritura.por-minuto:120}")
+    private int escrituraPorMinuto;
+
+    @Value("${seguridad.limite.escritura.rafaga:20}")
+    private int escrituraRafaga;
+
+    @Value("${seguridad.limite.max-claves:100000}")
+    private int maxClaves;
+
+    private final Map<Grupo, LimiteTasa> limites = new EnumMap<>(Grupo.class);
+    private final Map<Grupo, Counter> rechazos = new EnumMap<>(Grupo.class);
+
+    @PostConstruct
+    void inicializar() {
+        limites.put(Grupo.LOGIN, new LimiteTasa(loginPorMinuto, loginRafaga, maxClaves));
+        limites.put(Grupo.LECTURA, new LimiteTasa(lecturaPorMinuto, lecturaRafaga, maxClaves));
+        limites.put(Grupo.ESCRITURA, new LimiteTasa(escrituraPorMinuto, escrituraRafaga, maxClaves));
+        for (Grupo grupo : Grupo.values()) {
+            String nombre = grupo.name().toLowerCase();
+            rechazos.put(grupo, Counter.builder("seguridad.limite.rechazos")
+                    .description("Solicitudes rechazadas con 429 por el límite de solicitudes")
+                    .tag("grupo", nombre)
+                    .register(meterRegistry));
+            Gauge.builder("seguridad.limite.claves", limites.get(grupo), LimiteTasa::getClaves)
+                    .description("Usuarios o IPs con un balde activo")
+                    .tag("grupo", nombre)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Grupo grupo = habilitado ? grupo(request) : null;
+        if (grupo != null) {
+            long esperaNanos = limites.get(grupo).intentar(clave(grupo, request), System.nanoTime());
+            if (esperaNanos > 0) {
+                rechazos.get(grupo).increment();
+                rechazar(response, esperaNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${seguridad.limite.limpieza-ms:60000}")
+    public void eliminarInactivas() {
+        long ahora = System.nanoTime();
+        limites.values().forEach(limite -> limite.eliminarInactivas(ahora));
+    }
+
+    static Grupo grupo(HttpServletRequest request) {
+        String ruta = request.getRequestURI().substring(request.getContextPath().length());
+        String metodo = request.getMethod();
+        if ("POST".equals(metodo) && (ruta.equals("/login") || ruta.equals("/usuarios"))) {
+            return Grupo.LOGIN;
+        }
+        if (ruta.equals("/topicos") || ruta.startsWith("/topicos/")) {
+            return "GET".equals(metodo) || "HEAD".equals(metodo) ? Grupo.LECTURA : Grupo.ESCRITURA;
+        }
+        return null;
+    }
+
+    private String clave(Grupo grupo, HttpServletRequest request) {
+        if (grupo != Grupo.LOGIN) {
+            String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (authorization != null && authorization.startsWith("Bearer ")) {
+                TokenVerificado verificado = tokenService.verificadoPreviamente(authorization.substring(7));
+                if (verificado != null) {
+                    return "usuario:" + verificado.subject();
+                }
+            }
+        }
+        // Detrás de un proxy, server.forward-headers-strategy hace que esta sea la IP del cliente.
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void rechazar(HttpServletResponse response, long esperaNanos) throws IOException {
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiExceptionHandler.ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Demasiadas solicitudes. Intenta nuevamente en " + segundos + " segundos.",
+                null
+        ));
+    }
+}
@@ -0,0 +1,65 @@
+package alura.desafio.foro.infra.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket por clave implementado con GCRA: en lugar de fichas y última recarga, cada clave guarda
+ * solo el instante teórico de la próxima llegada (TAT) en un AtomicLong que se avanza con compareAndSet,
+ * así que no hay locks. Se admiten 'rafaga' solicitudes seguidas y luego una cada 60/porMinuto segundos.
+ */
+class LimiteTasa {
+
+    // Cuando hay demasiadas claves (por ejemplo, muchas IPs distintas) las nuevas comparten este balde.
+    static final String CLAVE_DESBORDE = "*";
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final int maxClaves;
+    private final Map<String, AtomicLong> llegadas = new ConcurrentHashMap<>();
+
+    LimiteTasa(int porMinuto, int rafaga, int maxClaves) {
+        this.intervaloNanos = 60_000_000_000L / porMinuto;
+        this.toleranciaNanos = intervaloNanos * rafaga;
+        this.maxClaves = maxClaves;
+    }
+
+    /**
+     * @return 0 si la solicitud se admite; si no, los nanosegundos que faltan para que se admita.
+     */
+    long intentar(String clave, long ahora) {
+        AtomicLong tat = llegadas.get(clave);
+        if (tat == null) {
+            if (llegadas.size() >= maxClaves) {
+                clave = CLAVE_DESBORDE;
+            }
+            tat = llegadas.computeIfAbsent(clave, c -> new AtomicLong(ahora));
+        }
+        while (true) {
+            long actual = tat.get();
+            long siguiente = Math.max(actual, ahora) + intervaloNanos;
+            long exceso = siguiente - ahora - toleranciaNanos;
+            if (exceso > 0) {
+                return exceso;
+            }
+            if (tat.compareAndSet(actual, siguiente)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Quita las claves con el balde lleno (TAT ya pasado): equivalen a una clave nueva. Si justo llega una
+     * solicitud para esa clave, a lo sumo se pierde su consumo, no se admite una ráfaga de más.
+     */
+    int eliminarInactivas(long ahora) {
+        int antes = llegadas.size();
+        llegadas.values().removeIf(tat -> tat.get() <= ahora);
+        return antes - llegadas.size();
+    }
+
+    int getClaves() {
+        return llegadas.size();
+    }
+}
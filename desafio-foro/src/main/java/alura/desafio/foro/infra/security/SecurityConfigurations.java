@@ -2,13 +2,13 @@ package alura.desafio.foro.infra.security;
 
 import alura.desafio.foro.domain.usuario.AutenticacionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -24,8 +24,12 @@ public class SecurityConfigurations {
     @Autowired
     private AutenticacionService autenticacionService;
 
+    @Value("${seguridad.bcrypt.costo:10}")
+    private int costoBcrypt;
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, SecurityFilter securityFilter) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, SecurityFilter securityFilter,
+                                                   LimiteSolicitudesFilter limiteSolicitudesFilter) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -33,6 +37,8 @@ public class SecurityConfigurations {
 
                         .requestMatchers("/login").permitAll()
                         .requestMatchers("/usuarios").permitAll()
+                        // Solo existen en el puerto de gestión (management.server.port), que no se publica
+                        .requestMatchers("/actuator/health", "/actuator/prometheus", "/actuator/startup").permitAll()
                         // Endpoints protegidos - requieren autenticación JWT
                         .requestMatchers(HttpMethod.POST, "/topicos").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/topicos/**").authenticated()
@@ -41,25 +47,23 @@ public class SecurityConfigurations {
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                // Antes de cualquier trabajo de JWT o BD
+                .addFilterBefore(limiteSolicitudesFilter, SecurityFilter.class)
                 .build();
     }
 
+    // El proveedor se arma aquí y no como bean: con un AuthenticationProvider en el contexto Spring Security
+    // avisa en cada arranque que ignora los UserDetailsService para su configuración automática.
     @Bean
-    public AuthenticationManager authenticationManager(
-            AuthenticationConfiguration authenticationConfiguration) throws Exception {
-        return authenticationConfiguration.getAuthenticationManager();
+    public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(autenticacionService);
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(autenticacionService);
+        return new ProviderManager(authProvider);
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
-    @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(autenticacionService);
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
+        return new BCryptPasswordEncoder(costoBcrypt);
     }
 }
\ No newline at end of file
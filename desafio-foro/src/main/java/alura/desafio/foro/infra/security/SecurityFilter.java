@@ -1,19 +1,28 @@
 package alura.desafio.foro.infra.security;
 
 import alura.desafio.foro.domain.usuario.Usuario;
+import alura.desafio.foro.domain.usuario.UsuarioAutenticado;
 import alura.desafio.foro.repository.UsuarioRepository;
 import alura.desafio.foro.service.TokenService;
+import alura.desafio.foro.service.TokenVerificado;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -25,6 +34,24 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // true: el principal sale del propio token (claim 'id' + subject) y no se consulta la BD.
+    @Value("${jwt.principal-desde-token:true}")
+    private boolean principalDesdeToken;
+
+    private Timer consultaUsuario;
+
+    @PostConstruct
+    void inicializar() {
+        consultaUsuario = Timer.builder("seguridad.usuario.consulta")
+                .description("Búsqueda del usuario del token en la BD (solo si el principal no sale del token)")
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -33,19 +60,29 @@ public class SecurityFilter extends OncePerRequestFilter {
 
         if (tokenJWT != null) {
             try {
-                String emailUsuario = tokenService.getSubject(tokenJWT);
-                Optional<Usuario> optionalUsuario = usuarioRepository.findByEmail(emailUsuario);
-                if (optionalUsuario.isPresent()) {
-                    Usuario usuario = optionalUsuario.get();
+                TokenVerificado tokenVerificado = tokenService.verificarToken(tokenJWT);
+                if (principalDesdeToken && tokenVerificado.id() != null) {
+                    var usuario = new UsuarioAutenticado(tokenVerificado.id(), tokenVerificado.subject());
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             usuario,
                             null,
-                            usuario.getAuthorities()
+                            List.of()
                     );
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 } else {
+                    Optional<Usuario> optionalUsuario = consultaUsuario.record(
+                            () -> buscarUsuario(tokenVerificado.subject()));
+                    if (optionalUsuario.isPresent()) {
+                        Usuario usuario = optionalUsuario.get();
+                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                                usuario,
+                                null,
+                                usuario.getAuthorities()
+                        );
 
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    }
                 }
             } catch (RuntimeException e) {
 
@@ -54,7 +91,15 @@ public class SecurityFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String recuperarToken(HttpServletRequest request) {
+    // Lectura en la réplica (si hay); si todavía no tiene al usuario por el retraso de replicación, se consulta el primario.
+    private Optional<Usuario> buscarUsuario(String email) {
+        TransactionTemplate soloLectura = new TransactionTemplate(transactionManager);
+        soloLectura.setReadOnly(true);
+        Optional<Usuario> usuario = soloLectura.execute(status -> usuarioRepository.findByEmail(email));
+        return usuario.isPresent() ? usuario : usuarioRepository.findByEmail(email);
+    }
+
+    String recuperarToken(HttpServletRequest request) {
         String authorizationHeader = request.getHeader("Authorization");
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             return authorizationHeader.substring(7); // Elimina "Bearer " del inicio
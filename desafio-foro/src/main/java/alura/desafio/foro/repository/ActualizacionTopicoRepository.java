@@ -0,0 +1,12 @@
+package alura.desafio.foro.repository;
+
+import alura.desafio.foro.domain.topico.DatosActualizarTopico;
+
+public interface ActualizacionTopicoRepository {
+
+    /**
+     * Escribe las columnas recibidas con un solo UPDATE, sin SELECT previo, únicamente si la versión es la
+     * indicada; la versión aumenta en 1. Devuelve 0 si el tópico no existe, está eliminado o cambió.
+     */
+    int actualizarSiVersion(Long id, long version, DatosActualizarTopico datos);
+}
@@ -0,0 +1,79 @@
+package alura.desafio.foro.repository;
+
+import alura.desafio.foro.domain.topico.DatosActualizarTopico;
+import alura.desafio.foro.domain.topico.Topico;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Fragmento de TopicoRepository: el SET se arma solo con las columnas recibidas.
+class ActualizacionTopicoRepositoryImpl implements ActualizacionTopicoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int actualizarSiVersion(Long id, long version, DatosActualizarTopico datos) {
+        if (!datos.actualizableSinCargar()) {
+            throw new IllegalArgumentException("Sin título y mensaje juntos el hash de contenido requiere cargar el tópico");
+        }
+        List<String> columnas = new ArrayList<>();
+        List<Object> valores = new ArrayList<>();
+        if (datos.titulo().isPresent()) {
+            agregar(columnas, valores, "titulo", datos.titulo().get());
+            agregar(columnas, valores, "mensaje", datos.mensaje().get());
+            agregar(columnas, valores, "hash_contenido",
+                    Topico.calcularHashContenido(datos.titulo().get(), datos.mensaje().get()));
+        }
+        datos.autor().ifPresent(autor -> agregar(columnas, valores, "autor", autor));
+        datos.curso().ifPresent(curso -> agregar(columnas, valores, "curso", curso));
+        valores.add(id);
+        valores.add(version);
+        valores.add(Topico.STATUS_ELIMINADO);
+        // La condición de status repite la de @SQLRestriction en Topico: un tópico eliminado no se actualiza.
+        String sql = "UPDATE topicos SET " + String.join(", ", columnas) + ", version = version + 1"
+                + " WHERE id = ? AND version = ? AND status <> ?";
+
+        // Por JDBC en la conexión de la transacción: un UPDATE por HQL o Criteria haría que Hibernate vacíe
+        // toda la región topicos del cache de segundo nivel.
+        int filas = entityManager.unwrap(Session.class).doReturningWork(conexion -> {
+            try (PreparedStatement update = conexion.prepareStatement(sql)) {
+                for (int i = 0; i < valores.size(); i++) {
+                    update.setObject(i + 1, valores.get(i));
+                }
+                return update.executeUpdate();
+            }
+        });
+        if (filas > 0) {
+            evictar(id);
+        }
+        return filas;
+    }
+
+    // Ahora, para que la lectura que sigue vea la fila nueva, y al terminar la transacción, porque otra lectura
+    // pudo volver a guardar la versión anterior en el cache mientras tanto.
+    private void evictar(Long id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Topico.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Topico.class, id);
+                }
+            });
+        }
+    }
+
+    private static void agregar(List<String> columnas, List<Object> valores, String columna, Object valor) {
+        columnas.add(columna + " = ?");
+        valores.add(valor);
+    }
+}
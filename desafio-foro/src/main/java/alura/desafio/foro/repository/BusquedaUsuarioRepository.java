@@ -0,0 +1,10 @@
+package alura.desafio.foro.repository;
+
+import alura.desafio.foro.domain.usuario.Usuario;
+
+import java.util.Optional;
+
+public interface BusquedaUsuarioRepository {
+
+    Optional<Usuario> findByEmail(String email);
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package alura.desafio.foro.repository;
+
+import alura.desafio.foro.domain.usuario.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class BusquedaUsuarioRepositoryImpl implements BusquedaUsuarioRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Búsqueda por natural id: con el perfil "cache" se resuelve email -> id desde la región usuarios-por-email y
+    // la entidad desde la de usuarios. Un email que no existe no se guarda, así que un usuario registrado en otra
+    // instancia se encuentra en la siguiente búsqueda.
+    // Sin readOnly: fuera de una transacción (login, respaldo de SecurityFilter) la búsqueda va al primario; solo
+    // quien la llama dentro de una transacción readOnly lee de la réplica.
+    @Override
+    @Transactional
+    public Optional<Usuario> findByEmail(String email) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Usuario.class).loadOptional(email);
+    }
+}
\ No newline at end of file
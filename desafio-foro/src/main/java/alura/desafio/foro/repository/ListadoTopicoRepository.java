@@ -0,0 +1,22 @@
+package alura.desafio.foro.repository;
+
+import alura.desafio.foro.domain.topico.DatosResumenTopico;
+import alura.desafio.foro.domain.topico.Topico;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ListadoTopicoRepository {
+
+    /**
+     * Página de tópicos en dos consultas: primero los ids (y el total) con la especificación, que los índices de
+     * V7 resuelven sin leer la tabla, y después los tópicos de esos ids por clave primaria, en el mismo orden.
+     */
+    Page<Topico> listarPorIds(Specification<Topico> especificacion, Pageable paginacion);
+
+    /**
+     * Página de GET /topicos/resumen con los mismos filtros: solo las columnas del resumen, con el mensaje truncado
+     * por la BD, armadas en la consulta sin cargar entidades.
+     */
+    Page<DatosResumenTopico> listarResumen(Specification<Topico> especificacion, Pageable paginacion);
+}
@@ -0,0 +1,102 @@
+package alura.desafio.foro.repository;
+
+import alura.desafio.foro.domain.topico.DatosResumenTopico;
+import alura.desafio.foro.domain.topico.Topico;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+// Fragmento de TopicoRepository para GET /topicos con filtros.
+class ListadoTopicoRepositoryImpl implements ListadoTopicoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Las tres consultas en una transacción readOnly: ven la misma foto y, con réplica, van a la réplica.
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Topico> listarPorIds(Specification<Topico> especificacion, Pageable paginacion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> consultaIds = cb.createQuery(Long.class);
+        Root<Topico> topico = consultaIds.from(Topico.class);
+        consultaIds.select(topico.get("id"));
+        condicion(especificacion, topico, consultaIds, cb);
+        consultaIds.orderBy(QueryUtils.toOrders(paginacion.getSort(), topico, cb));
+        TypedQuery<Long> ids = entityManager.createQuery(consultaIds);
+        if (paginacion.isPaged()) {
+            ids.setFirstResult((int) paginacion.getOffset());
+            ids.setMaxResults(paginacion.getPageSize());
+        }
+        List<Long> pagina = ids.getResultList();
+
+        // multiLoad devuelve los tópicos en el orden de los ids (y pasa por el cache de segundo nivel si está activo);
+        // uno eliminado entre las dos consultas queda en null o con status ELIMINADO.
+        List<Topico> topicos = pagina.isEmpty() ? List.of() : entityManager.unwrap(Session.class)
+                .byMultipleIds(Topico.class)
+                .multiLoad(pagina)
+                .stream()
+                .filter(Objects::nonNull)
+                .filter(t -> !t.estaEliminado())
+                .toList();
+
+        return PageableExecutionUtils.getPage(topicos, paginacion, () -> contar(especificacion));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<DatosResumenTopico> listarResumen(Specification<Topico> especificacion, Pageable paginacion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<DatosResumenTopico> consulta = cb.createQuery(DatosResumenTopico.class);
+        Root<Topico> topico = consulta.from(Topico.class);
+        consulta.select(cb.construct(DatosResumenTopico.class,
+                topico.get("id"),
+                topico.get("titulo"),
+                cb.substring(topico.get("mensaje"), 1, DatosResumenTopico.LARGO_EXTRACTO),
+                topico.get("fechaCreacion"),
+                topico.get("status"),
+                topico.get("autor"),
+                topico.get("curso")));
+        condicion(especificacion, topico, consulta, cb);
+        consulta.orderBy(QueryUtils.toOrders(paginacion.getSort(), topico, cb));
+        TypedQuery<DatosResumenTopico> resumen = entityManager.createQuery(consulta);
+        if (paginacion.isPaged()) {
+            resumen.setFirstResult((int) paginacion.getOffset());
+            resumen.setMaxResults(paginacion.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(resumen.getResultList(), paginacion, () -> contar(especificacion));
+    }
+
+    private long contar(Specification<Topico> especificacion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> consulta = cb.createQuery(Long.class);
+        Root<Topico> topico = consulta.from(Topico.class);
+        consulta.select(cb.count(topico));
+        condicion(especificacion, topico, consulta, cb);
+        return entityManager.createQuery(consulta).getSingleResult();
+    }
+
+    private static void condicion(Specification<Topico> especificacion, Root<Topico> topico,
+                                  CriteriaQuery<?> consulta, CriteriaBuilder cb) {
+        Predicate predicado = especificacion.toPredicate(topico, consulta, cb);
+        if (predicado != null) {
+            consulta.where(predicado);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package alura.desafio.foro.repository;
+
+import alura.desafio.foro.domain.topico.RegistroEventoTopico;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RegistroEventoTopicoRepository extends JpaRepository<RegistroEventoTopico, Long> {
+
+    // Pendientes de publicar, en el orden en que los insertó el primario (el id solo ordena dentro de una instancia).
+    List<RegistroEventoTopico> findBySecuenciaIsNullOrderByFechaRegistroAscIdAsc(Pageable limite);
+
+    boolean existsBySecuenciaIsNull();
+
+    // Reanudación del feed desde el último evento recibido por el cliente, y reparto de lo que numeró cualquier instancia.
+    List<RegistroEventoTopico> findBySecuenciaGreaterThanOrderBySecuenciaAsc(Long secuencia, Pageable limite);
+
+    // [secuencia, topicoId] de lo numerado después de 'secuencia', sin cargar el JSON.
+    @Query("select e.secuencia, e.topicoId from RegistroEventoTopico e where e.secuencia > :secuencia order by e.secuencia")
+    List<Object[]> buscarCambiosDesde(Long secuencia, Pageable limite);
+
+    @Query("select max(e.secuencia) from RegistroEventoTopico e")
+    Long ultimaSecuencia();
+
+    @Modifying
+    @Transactional
+    @Query("delete from RegistroEventoTopico e where e.secuencia is not null and e.fechaCreacion < :limite")
+    int eliminarPublicadosAntesDe(LocalDateTime limite);
+}
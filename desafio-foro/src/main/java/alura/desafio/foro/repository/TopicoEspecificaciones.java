@@ -0,0 +1,48 @@
+package alura.desafio.foro.repository;
+
+import alura.desafio.foro.domain.topico.DatosFiltroTopicos;
+import alura.desafio.foro.domain.topico.Topico;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TopicoEspecificaciones {
+
+    private TopicoEspecificaciones() {
+    }
+
+    // Solo se agregan las condiciones presentes: un "(:p is null or col = :p)" impediría usar los índices de V7.
+    public static Specification<Topico> filtrar(DatosFiltroTopicos filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> condiciones = new ArrayList<>();
+            if (tieneValor(filtro.curso())) {
+                condiciones.add(cb.equal(root.get("curso"), filtro.curso()));
+            }
+            if (tieneValor(filtro.status())) {
+                condiciones.add(cb.equal(root.get("status"), filtro.status()));
+            }
+            if (tieneValor(filtro.autor())) {
+                condiciones.add(cb.equal(root.get("autor"), filtro.autor()));
+            }
+            if (filtro.desde() != null) {
+                condiciones.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("fechaCreacion"), filtro.desde().atStartOfDay()));
+            }
+            if (filtro.hasta() != null) {
+                condiciones.add(cb.lessThan(root.<LocalDateTime>get("fechaCreacion"), filtro.hasta().plusDays(1).atStartOfDay()));
+            }
+            return cb.and(condiciones.toArray(Predicate[]::new));
+        };
+    }
+
+    public static boolean sinCondiciones(DatosFiltroTopicos filtro) {
+        return !tieneValor(filtro.curso()) && !tieneValor(filtro.status()) && !tieneValor(filtro.autor())
+                && filtro.desde() == null && filtro.hasta() == null;
+    }
+
+    private static boolean tieneValor(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+}
@@ -1,10 +1,56 @@
 package alura.desafio.foro.repository;
 
+import alura.desafio.foro.domain.topico.DatosHashTopico;
 import alura.desafio.foro.domain.topico.Topico;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Repository
-public interface TopicoRepository extends JpaRepository<Topico, Long> {
-    boolean existsByTituloAndMensaje(String titulo, String mensaje);
-}
\ No newline at end of file
+public interface TopicoRepository extends JpaRepository<Topico, Long>, JpaSpecificationExecutor<Topico>,
+        ActualizacionTopicoRepository, ListadoTopicoRepository {
+    boolean existsByHashContenido(String hashContenido);
+
+    @Query("select t.hashContenido from Topico t where t.hashContenido in :hashes")
+    Set<String> buscarHashesExistentes(Collection<String> hashes);
+
+    List<Topico> findByIdGreaterThanOrderByIdAsc(Long id, Pageable limite);
+
+    List<DatosHashTopico> findHashByIdGreaterThanOrderByIdAsc(Long id, Pageable limite);
+
+    // Paginación por cursor sobre el índice (fecha_creacion, id): sin OFFSET ni COUNT(*).
+    @Query("select t from Topico t order by t.fechaCreacion, t.id")
+    List<Topico> buscarPrimerosPorFechaCreacion(Pageable limite);
+
+    @Query("""
+            select t from Topico t
+            where t.fechaCreacion > :fechaCreacion
+               or (t.fechaCreacion = :fechaCreacion and t.id > :id)
+            order by t.fechaCreacion, t.id
+            """)
+    List<Topico> buscarSiguientesPorFechaCreacion(LocalDateTime fechaCreacion, Long id, Pageable limite);
+
+    // Conteos para EstadisticasTopicosService: cada fila es [clave, cantidad].
+    @Query("select t.curso, count(t) from Topico t group by t.curso")
+    List<Object[]> contarPorCurso();
+
+    @Query("select t.status, count(t) from Topico t group by t.status")
+    List<Object[]> contarPorStatus();
+
+    @Query("select t.autor, count(t) from Topico t group by t.autor")
+    List<Object[]> contarPorAutor();
+
+    @Query("""
+            select cast(t.fechaCreacion as LocalDate), count(t) from Topico t
+            where t.fechaCreacion >= :desde
+            group by cast(t.fechaCreacion as LocalDate)
+            """)
+    List<Object[]> contarCreadosPorDia(LocalDateTime desde);
+}
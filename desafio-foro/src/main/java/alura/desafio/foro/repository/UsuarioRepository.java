@@ -2,11 +2,13 @@ package alura.desafio.foro.repository;
 
 import alura.desafio.foro.domain.usuario.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
-    Optional<Usuario> findByEmail(String email);
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, BusquedaUsuarioRepository {
+    @Modifying
+    @Query("UPDATE Usuario u SET u.contrasena = :contrasena WHERE u.id = :id")
+    int actualizarContrasena(Long id, String contrasena);
 }
\ No newline at end of file
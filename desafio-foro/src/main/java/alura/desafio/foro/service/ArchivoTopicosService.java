@@ -0,0 +1,233 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.Topico;
+import alura.desafio.foro.domain.topico.TopicosArchivados;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mueve a topicos_archivados, en lotes acotados, los tópicos con un status archivable (eliminados o
+ * cerrados) y, si se configura, los creados hace más de cierta cantidad de días. Para no competir con
+ * las solicitudes: cada lote es una transacción corta, entre lotes se pausa en proporción a lo que tardó
+ * el anterior, y la vuelta se corta si el pool de conexiones está ocupado. Corre en un hilo propio y las
+ * pausas se programan en vez de dormir, así no retrasa las tareas de @Scheduled (latidos del feed,
+ * estadísticas, índice de búsqueda...), que comparten un único hilo.
+ */
+@Service
+@ManagedResource(objectName = "alura.desafio.foro:name=ArchivoTopicos")
+public class ArchivoTopicosService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivoTopicosService.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${topicos.archivo.intervalo-ms:60000}")
+    private long intervaloMs;
+
+    @Value("${topicos.archivo.estados:ELIMINADO,CERRADO}")
+    private List<String> estados;
+
+    // 0: no se archiva por antigüedad.
+    @Value("${topicos.archivo.antiguedad-dias:0}")
+    private int antiguedadDias;
+
+    @Value("${topicos.archivo.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${topicos.archivo.max-lotes:20}")
+    private int maxLotes;
+
+    // Pausa tras cada lote = duración del lote * factor (con un mínimo): factor 4 deja la BD libre el 80% del tiempo.
+    @Value("${topicos.archivo.factor-pausa:4}")
+    private int factorPausa;
+
+    @Value("${topicos.archivo.pausa-minima-ms:100}")
+    private long pausaMinimaMs;
+
+    // Proporción de conexiones activas a partir de la cual se deja de archivar en esa vuelta.
+    @Value("${topicos.archivo.max-uso-pool:0.5}")
+    private double maxUsoPool;
+
+    // Los ids del evento y las filas que realmente se movieron.
+    private record Lote(TopicosArchivados archivados, int movidos) {
+    }
+
+    private JdbcTemplate jdbcTemplate;
+    private HikariDataSource hikari;
+    private ScheduledExecutorService ejecutor;
+
+    private final LongAdder archivados = new LongAdder();
+    private final LongAdder vueltasCortadas = new LongAdder();
+    private Counter contadorArchivados;
+
+    @PostConstruct
+    void inicializar() throws SQLException {
+        contadorArchivados = Counter.builder("topicos.archivados")
+                .description("Tópicos movidos a topicos_archivados")
+                .register(meterRegistry);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            hikari = dataSource.unwrap(HikariDataSource.class);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "archivo-topicos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        ejecutor.schedule(() -> archivar(0), intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        if (ejecutor != null) {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    // Un lote por ejecución: tras un lote completo se programa el siguiente después de la pausa; si no, la próxima vuelta.
+    private void archivar(int lote) {
+        try {
+            if (poolOcupado()) {
+                vueltasCortadas.increment();
+                log.debug("Archivo de tópicos pospuesto: pool de conexiones ocupado");
+            } else {
+                long inicio = System.nanoTime();
+                if (archivarLote() == tamanoLote && lote + 1 < maxLotes) {
+                    long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+                    ejecutor.schedule(() -> archivar(lote + 1),
+                            Math.max(pausaMinimaMs, duracionMs * factorPausa), TimeUnit.MILLISECONDS);
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo archivar tópicos; se reintenta en la próxima vuelta", e);
+        }
+        ejecutor.schedule(() -> archivar(0), intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    int archivarLote() {
+        Lote lote = new TransactionTemplate(transactionManager).execute(status -> {
+            // Un recorrido del índice de status puede devolver dos veces la misma fila (pasa en H2).
+            Set<Long> ids = new LinkedHashSet<>();
+            boolean incluyeVigentes = false;
+
+            // Cada criterio por separado, para que cada consulta use su índice (V7 y V3). Los candidatos se bloquean
+            // y se saltan los que ya bloqueó otra vuelta (de otra instancia, o una edición en curso): sin eso, dos
+            // vueltas a la vez copiaban el mismo tópico y la segunda chocaba con la clave de topicos_archivados.
+            String enEstados = String.join(", ", Collections.nCopies(estados.size(), "?"));
+            List<Object> parametros = new ArrayList<>(estados);
+            parametros.add(tamanoLote);
+            for (var fila : jdbcTemplate.queryForList(
+                    "SELECT id, status FROM topicos WHERE status IN (" + enEstados + ") LIMIT ? FOR UPDATE SKIP LOCKED",
+                    parametros.toArray())) {
+                ids.add(((Number) fila.get("id")).longValue());
+                incluyeVigentes |= !Topico.STATUS_ELIMINADO.equals(fila.get("status"));
+            }
+            if (antiguedadDias > 0 && ids.size() < tamanoLote) {
+                Timestamp limite = Timestamp.valueOf(LocalDateTime.now().minusDays(antiguedadDias));
+                List<Long> antiguos = jdbcTemplate.queryForList(
+                        "SELECT id FROM topicos WHERE fecha_creacion < ? ORDER BY fecha_creacion LIMIT ? FOR UPDATE SKIP LOCKED",
+                        Long.class, limite, tamanoLote - ids.size());
+                ids.addAll(antiguos);
+                incluyeVigentes |= !antiguos.isEmpty();
+            }
+            if (ids.isEmpty()) {
+                return null;
+            }
+
+            String enIds = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            List<Object> parametrosCopia = new ArrayList<>();
+            parametrosCopia.add(Timestamp.valueOf(LocalDateTime.now()));
+            parametrosCopia.addAll(ids);
+            jdbcTemplate.update("INSERT INTO topicos_archivados"
+                            + " (fecha_archivo, id, titulo, mensaje, fecha_creacion, status, autor, curso)"
+                            + " SELECT ?, id, titulo, mensaje, fecha_creacion, status, autor, curso FROM topicos"
+                            + " WHERE id IN (" + enIds + ")",
+                    parametrosCopia.toArray());
+            // Se cuentan las filas borradas y no los ids leídos, por si alguno ya no estaba.
+            int movidos = jdbcTemplate.update("DELETE FROM topicos WHERE id IN (" + enIds + ")", ids.toArray());
+
+            TopicosArchivados evento = new TopicosArchivados(List.copyOf(ids), incluyeVigentes);
+            eventPublisher.publishEvent(evento);
+            return new Lote(evento, movidos);
+        });
+
+        if (lote == null) {
+            return 0;
+        }
+        // Las filas se borraron por JDBC: el cache de segundo nivel (si está activo) no se enteró.
+        lote.archivados().ids().forEach(id -> entityManagerFactory.getCache().evict(Topico.class, id));
+        archivados.add(lote.movidos());
+        contadorArchivados.increment(lote.movidos());
+        return lote.archivados().ids().size();
+    }
+
+    private boolean poolOcupado() {
+        // El MXBean es null hasta que Hikari abre su pool.
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            return false;
+        }
+        return pool.getThreadsAwaitingConnection() > 0
+                || pool.getActiveConnections() >= maxUsoPool * hikari.getMaximumPoolSize();
+    }
+
+    @ManagedAttribute(description = "Tópicos movidos a topicos_archivados")
+    public long getArchivados() {
+        return archivados.sum();
+    }
+
+    @ManagedAttribute(description = "Vueltas cortadas porque el pool de conexiones estaba ocupado")
+    public long getVueltasCortadas() {
+        return vueltasCortadas.sum();
+    }
+}
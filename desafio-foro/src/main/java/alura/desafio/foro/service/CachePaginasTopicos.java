@@ -0,0 +1,214 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.DatosListadoTopico;
+import alura.desafio.foro.domain.topico.EventoTopico;
+import alura.desafio.foro.domain.topico.TopicosArchivados;
+import alura.desafio.foro.repository.TopicoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Primeras páginas de GET /topicos sin filtros y ordenadas por fechaCreacion, guardadas ya serializadas
+ * (JSON y JSON con gzip) para copiarlas tal cual a la respuesta: un acierto no consulta la BD ni pasa por
+ * Jackson. Se vacía después del commit de cualquier alta, edición, baja o archivo; el TTL acota lo que
+ * tardan en verse las escrituras de otras instancias.
+ * <p>
+ * Los fallos se leen en una transacción readOnly (con réplica, de la réplica). Durante la ventana de lectura
+ * propia posterior a una invalidación la réplica puede no tener la escritura, así que esas páginas se
+ * responden pero no se guardan.
+ */
+@Service
+@ManagedResource(objectName = "alura.desafio.foro:name=CachePaginasTopicos")
+public class CachePaginasTopicos {
+
+    private record Clave(int pagina, int tamano, Sort.Direction direccion) {
+    }
+
+    // 'generacion' es la del cache cuando empezó la carga: una entrada de una generación anterior no se sirve.
+    private record Entrada(byte[] json, byte[] gzip, long vence, long generacion) {
+    }
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${topicos.cache-paginas.max-paginas:5}")
+    private int maxPaginas;
+
+    @Value("${topicos.cache-paginas.max-tamano:50}")
+    private int maxTamano;
+
+    @Value("${topicos.cache-paginas.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${spring.datasource.replica.ventana-lectura-propia-ms:2000}")
+    private long ventanaReplicaMs;
+
+    // Las claves posibles están acotadas por max-paginas y max-tamano: no hace falta desalojo y las lecturas no bloquean.
+    private final Map<Clave, Entrada> entradas = new ConcurrentHashMap<>();
+
+    // Cambia con cada invalidación. Una carga que empezó antes puede terminar de guardar su página después del
+    // clear() de invalidar(), pero esa página lleva la generación anterior y escribir() la descarta.
+    private final AtomicLong generacion = new AtomicLong();
+
+    // currentTimeMillis hasta el que una página recién leída no se guarda (ver invalidar()).
+    private volatile long sinGuardarHasta;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    @PostConstruct
+    void inicializar() {
+        FunctionCounter.builder("topicos.cache.paginas", aciertos, LongAdder::sum)
+                .description("Páginas de GET /topicos servidas desde el cache de respuestas")
+                .tag("resultado", "acierto")
+                .register(meterRegistry);
+        FunctionCounter.builder("topicos.cache.paginas", fallos, LongAdder::sum)
+                .description("Páginas de GET /topicos servidas desde el cache de respuestas")
+                .tag("resultado", "fallo")
+                .register(meterRegistry);
+    }
+
+    // Solo la forma que piden todos los clientes: una de las primeras páginas, ordenada únicamente por fechaCreacion.
+    public boolean admite(Pageable paginacion) {
+        if (paginacion.isUnpaged() || paginacion.getPageNumber() >= maxPaginas || paginacion.getPageSize() > maxTamano) {
+            return false;
+        }
+        Sort.Order orden = paginacion.getSort().getOrderFor("fechaCreacion");
+        return orden != null && !orden.isIgnoreCase() && paginacion.getSort().stream().count() == 1;
+    }
+
+    public void escribir(Pageable paginacion, String aceptaCodificacion, HttpServletResponse response) throws IOException {
+        Clave clave = new Clave(paginacion.getPageNumber(), paginacion.getPageSize(),
+                paginacion.getSort().getOrderFor("fechaCreacion").getDirection());
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null && entrada.generacion() == generacion.get() && entrada.vence() > System.currentTimeMillis()) {
+            aciertos.increment();
+        } else {
+            fallos.increment();
+            entrada = cargar(clave, paginacion);
+        }
+
+        boolean gzip = aceptaGzip(aceptaCodificacion);
+        byte[] cuerpo = gzip ? entrada.gzip() : entrada.json();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(cuerpo.length);
+        response.getOutputStream().write(cuerpo);
+    }
+
+    @TransactionalEventListener
+    public void alCambiarTopico(EventoTopico evento) {
+        invalidar();
+    }
+
+    @TransactionalEventListener
+    public void alArchivarTopicos(TopicosArchivados archivados) {
+        invalidar();
+    }
+
+    @ManagedAttribute(description = "Páginas servidas desde el cache de respuestas")
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    @ManagedAttribute(description = "Páginas que se consultaron y serializaron")
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    @ManagedAttribute(description = "Páginas guardadas actualmente")
+    public int getTamano() {
+        return entradas.size();
+    }
+
+    private Entrada cargar(Clave clave, Pageable paginacion) {
+        long generacionInicial = generacion.get();
+        boolean guardar = System.currentTimeMillis() >= sinGuardarHasta;
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        Page<DatosListadoTopico> pagina = lectura
+                .execute(status -> topicoRepository.findAll(paginacion).map(DatosListadoTopico::new));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(pagina);
+            Entrada entrada = new Entrada(json, comprimir(json), System.currentTimeMillis() + ttlMs, generacionInicial);
+            if (guardar) {
+                entradas.put(clave, entrada);
+            }
+            return entrada;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void invalidar() {
+        sinGuardarHasta = System.currentTimeMillis() + ventanaReplicaMs;
+        generacion.incrementAndGet();
+        entradas.clear();
+    }
+
+    private static byte[] comprimir(byte[] json) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(json);
+        }
+        return salida.toByteArray();
+    }
+
+    // Accept-Encoding con gzip (o *) y sin q=0.
+    static boolean aceptaGzip(String aceptaCodificacion) {
+        if (aceptaCodificacion == null) {
+            return false;
+        }
+        for (String parte : aceptaCodificacion.split(",")) {
+            String[] elementos = parte.split(";");
+            String codificacion = elementos[0].trim();
+            if (!codificacion.equalsIgnoreCase("gzip") && !codificacion.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < elementos.length; i++) {
+                if (elementos[i].replace(" ", "").matches("q=0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
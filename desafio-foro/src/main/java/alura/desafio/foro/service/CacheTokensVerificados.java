@@ -0,0 +1,93 @@
+package alura.desafio.foro.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache acotado de tokens ya verificados. La clave es el SHA-256 del token (no se guarda el token
+ * en claro) y cada entrada deja de ser válida en el 'exp' del propio token.
+ */
+public class CacheTokensVerificados {
+
+    private final Map<String, TokenVerificado> entradas = new ConcurrentHashMap<>();
+    private final int maxEntradas;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    public CacheTokensVerificados(int maxEntradas) {
+        this.maxEntradas = maxEntradas;
+    }
+
+    public TokenVerificado obtener(String token) {
+        String clave = digest(token);
+        TokenVerificado verificado = entradas.get(clave);
+        if (verificado == null) {
+            fallos.increment();
+            return null;
+        }
+        if (verificado.expirado(System.currentTimeMillis())) {
+            entradas.remove(clave, verificado);
+            fallos.increment();
+            return null;
+        }
+        aciertos.increment();
+        return verificado;
+    }
+
+    // Como obtener, pero sin contar aciertos ni fallos: para quien solo necesita saber si el token ya se verificó.
+    public TokenVerificado consultar(String token) {
+        TokenVerificado verificado = entradas.get(digest(token));
+        return verificado != null && !verificado.expirado(System.currentTimeMillis()) ? verificado : null;
+    }
+
+    public void guardar(String token, TokenVerificado verificado) {
+        if (maxEntradas <= 0) {
+            return;
+        }
+        if (entradas.size() >= maxEntradas) {
+            liberarEspacio();
+        }
+        entradas.put(digest(token), verificado);
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public int getTamano() {
+        return entradas.size();
+    }
+
+    // Primero se descartan los expirados; si no alcanza, se libera una décima parte del cache.
+    private void liberarEspacio() {
+        long ahora = System.currentTimeMillis();
+        entradas.values().removeIf(t -> t.expirado(ahora));
+
+        int aLiberar = entradas.size() - maxEntradas + Math.max(1, maxEntradas / 10);
+        Iterator<String> claves = entradas.keySet().iterator();
+        while (aLiberar-- > 0 && claves.hasNext()) {
+            claves.next();
+            claves.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
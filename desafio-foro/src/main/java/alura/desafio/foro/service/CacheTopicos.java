@@ -0,0 +1,166 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.DatosRespuestaTopico;
+import alura.desafio.foro.domain.topico.EventoTopico;
+import alura.desafio.foro.domain.topico.TopicosArchivados;
+import alura.desafio.foro.repository.TopicoRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache de lectura (LRU acotado) de GET /topicos/{id}, con el ETag de cada tópico ya calculado.
+ * Se invalida después del commit de cada edición o baja de esta instancia; los cambios hechos en otras
+ * instancias se ven cuando vence la entrada (topicos.cache.ttl-ms).
+ * <p>
+ * Los fallos se cargan en una transacción readOnly, así que con réplica van a la réplica (salvo para quien
+ * está en su ventana de lectura propia). Como la réplica puede no tener todavía una edición recién
+ * confirmada, lo que se carga durante esa ventana después de invalidar un tópico se responde pero no se guarda.
+ */
+@Service
+@ManagedResource(objectName = "alura.desafio.foro:name=CacheTopicos")
+public class CacheTopicos {
+
+    public record Entrada(DatosRespuestaTopico datos, String etag, long vence) {
+    }
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${topicos.cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${spring.datasource.replica.ventana-lectura-propia-ms:2000}")
+    private long ventanaReplicaMs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Un tópico recién invalidado queda como Entrada sin datos hasta 'vence': ocupa lugar en el LRU como cualquier otra.
+    private final Map<Long, Entrada> entradas;
+
+    // Cambia con cada invalidación: una carga que empezó antes no puede guardar un valor ya viejo.
+    private final AtomicLong generacion = new AtomicLong();
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    public CacheTopicos(@Value("${topicos.cache.max-entradas:1000}") int maxEntradas) {
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entrada> eldest) {
+                return size() > maxEntradas;
+            }
+        };
+    }
+
+    public Entrada obtener(Long id) {
+        boolean guardar;
+        lock.lock();
+        try {
+            Entrada entrada = entradas.get(id);
+            long ahora = System.currentTimeMillis();
+            if (entrada != null && entrada.datos() != null && entrada.vence() > ahora) {
+                aciertos.increment();
+                return entrada;
+            }
+            guardar = entrada == null || entrada.datos() != null || entrada.vence() <= ahora;
+        } finally {
+            lock.unlock();
+        }
+
+        fallos.increment();
+        long generacionInicial = generacion.get();
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        Entrada entrada = lectura.execute(status -> topicoRepository.findById(id)
+                .filter(topico -> !topico.estaEliminado())
+                .map(topico -> new Entrada(new DatosRespuestaTopico(topico), etag(topico.getVersion()),
+                        System.currentTimeMillis() + ttlMs))
+                .orElseThrow(EntityNotFoundException::new));
+
+        lock.lock();
+        try {
+            if (guardar && generacion.get() == generacionInicial) {
+                entradas.put(id, entrada);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return entrada;
+    }
+
+    @TransactionalEventListener
+    public void alCambiarTopico(EventoTopico evento) {
+        if (evento.tipo() == EventoTopico.Tipo.CREADO) {
+            return;
+        }
+        generacion.incrementAndGet();
+        lock.lock();
+        try {
+            invalidar(evento.id());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void alArchivarTopicos(TopicosArchivados archivados) {
+        generacion.incrementAndGet();
+        lock.lock();
+        try {
+            archivados.ids().forEach(this::invalidar);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Con el lock tomado.
+    private void invalidar(Long id) {
+        if (ventanaReplicaMs > 0) {
+            entradas.put(id, new Entrada(null, null, System.currentTimeMillis() + ventanaReplicaMs));
+        } else {
+            entradas.remove(id);
+        }
+    }
+
+    @ManagedAttribute(description = "Lecturas de tópicos resueltas desde el cache")
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    @ManagedAttribute(description = "Lecturas de tópicos que fueron a la BD")
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    // ETag fuerte: la versión del tópico (@Version), que aumenta con cada UPDATE. Así If-Match puede ir directo al WHERE.
+    public static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // null si no es un ETag de tópico (débil, sin comillas o con otro formato): no coincide con ninguna versión.
+    public static Long versionDeEtag(String etag) {
+        if (etag.length() < 3 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.DatosEstadisticasTopicos;
+import alura.desafio.foro.domain.topico.DatosRespuestaTopico;
+import alura.desafio.foro.domain.topico.EventoTopico;
+import alura.desafio.foro.domain.topico.TopicosArchivados;
+import alura.desafio.foro.repository.TopicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conteos de tópicos por curso, status, autor y día de creación, mantenidos en memoria con los eventos
+ * de alta, edición y baja. Cada cierto tiempo se recalculan con GROUP BY para corregir lo que los eventos
+ * no reflejan (otras instancias, cambios hechos directo en la BD, eventos sin instantáneas).
+ */
+@Service
+public class EstadisticasTopicosService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticasTopicosService.class);
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${topicos.estadisticas.dias:30}")
+    private int dias;
+
+    @Value("${topicos.estadisticas.reconciliar-ms:600000}")
+    private long reconciliarCadaMs;
+
+    private static class Conteos {
+        final Map<String, LongAdder> porCurso = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> porStatus = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> porAutor = new ConcurrentHashMap<>();
+        final Map<LocalDate, LongAdder> porDia = new ConcurrentHashMap<>();
+        final LocalDateTime calculadoEn = LocalDateTime.now();
+    }
+
+    private record Vista(long version, DatosEstadisticasTopicos datos) {
+    }
+
+    private volatile Conteos conteos = new Conteos();
+
+    // Protege el reemplazo de 'conteos' al reconciliar frente a los eventos que llegan mientras tanto.
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<EventoTopico> eventosDuranteReconciliacion;
+    private final AtomicBoolean reconciliando = new AtomicBoolean();
+    private volatile long ultimaReconciliacion;
+    private volatile boolean pendienteReconciliar = true;
+
+    // Cada cambio sube la versión; la vista armada para una versión se reutiliza hasta el siguiente cambio.
+    private final AtomicLong version = new AtomicLong();
+    private volatile Vista vista;
+
+    public DatosEstadisticasTopicos obtener() {
+        Vista actual = vista;
+        long versionActual = version.get();
+        if (actual != null && actual.version() == versionActual) {
+            return actual.datos();
+        }
+
+        Conteos c = conteos;
+        LocalDate desde = LocalDate.now().minusDays(dias - 1L);
+        Map<LocalDate, Long> creadosPorDia = new TreeMap<>();
+        c.porDia.forEach((dia, cantidad) -> {
+            if (!dia.isBefore(desde) && cantidad.sum() > 0) {
+                creadosPorDia.put(dia, cantidad.sum());
+            }
+        });
+        Map<String, Long> porStatus = copiar(c.porStatus);
+        DatosEstadisticasTopicos datos = new DatosEstadisticasTopicos(
+                porStatus.values().stream().mapToLong(Long::longValue).sum(),
+                copiar(c.porCurso), porStatus, copiar(c.porAutor), creadosPorDia, c.calculadoEn);
+        vista = new Vista(versionActual, datos);
+        return datos;
+    }
+
+    @TransactionalEventListener
+    public void alCambiarTopico(EventoTopico evento) {
+        if (evento.sinAnterior()) {
+            // UPDATE directo de PUT: sin el estado anterior no se sabe qué restar, pero si no cambió curso ni autor
+            // los conteos siguen valiendo.
+            if (evento.cambios() == null || evento.cambios().cambiaConteos()) {
+                pendienteReconciliar = true;
+            }
+            return;
+        }
+        if ((evento.tipo() != EventoTopico.Tipo.CREADO && evento.anterior() == null)
+                || (evento.tipo() != EventoTopico.Tipo.ELIMINADO && evento.actual() == null)) {
+            // Sin las instantáneas no se sabe qué restar o sumar: se corrige en la próxima revisión.
+            pendienteReconciliar = true;
+            return;
+        }
+
+        lock.lock();
+        try {
+            aplicar(conteos, evento);
+            if (eventosDuranteReconciliacion != null) {
+                eventosDuranteReconciliacion.add(evento);
+            }
+        } finally {
+            lock.unlock();
+        }
+        version.incrementAndGet();
+    }
+
+    // Los eliminados ya se restaron al eliminarlos; el resto sale de los conteos en la próxima revisión.
+    @TransactionalEventListener
+    public void alArchivarTopicos(TopicosArchivados archivados) {
+        if (archivados.incluyeVigentes()) {
+            pendienteReconciliar = true;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        reconciliar();
+    }
+
+    @Scheduled(fixedDelayString = "${topicos.estadisticas.revisar-ms:5000}",
+            initialDelayString = "${topicos.estadisticas.revisar-ms:5000}")
+    public void revisar() {
+        if (pendienteReconciliar || System.currentTimeMillis() - ultimaReconciliacion >= reconciliarCadaMs) {
+            reconciliar();
+        }
+    }
+
+    private void reconciliar() {
+        if (!reconciliando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            recalcular();
+        } catch (RuntimeException e) {
+            pendienteReconciliar = true;
+            log.warn("No se pudieron reconciliar las estadísticas de tópicos", e);
+        } finally {
+            lock.lock();
+            try {
+                eventosDuranteReconciliacion = null;
+            } finally {
+                lock.unlock();
+            }
+            reconciliando.set(false);
+        }
+    }
+
+    private void recalcular() {
+        pendienteReconciliar = false;
+        LocalDateTime desde = LocalDate.now().minusDays(dias - 1L).atStartOfDay();
+
+        lock.lock();
+        try {
+            eventosDuranteReconciliacion = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        // Una sola transacción de lectura: las cuatro consultas ven la misma foto de la tabla.
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        Conteos nuevos = lectura.execute(status -> {
+            Conteos c = new Conteos();
+            cargarConteos(c.porCurso, topicoRepository.contarPorCurso());
+            cargarConteos(c.porStatus, topicoRepository.contarPorStatus());
+            cargarConteos(c.porAutor, topicoRepository.contarPorAutor());
+            cargarConteos(c.porDia, topicoRepository.contarCreadosPorDia(desde));
+            return c;
+        });
+
+        // Los eventos que llegaron durante las consultas pueden no estar en la foto: se vuelven a aplicar.
+        // (Uno confirmado justo antes de la primera consulta queda contado dos veces hasta la próxima pasada.)
+        lock.lock();
+        try {
+            eventosDuranteReconciliacion.forEach(evento -> aplicar(nuevos, evento));
+            conteos = nuevos;
+        } finally {
+            lock.unlock();
+        }
+        ultimaReconciliacion = System.currentTimeMillis();
+        version.incrementAndGet();
+        log.debug("Estadísticas de tópicos reconciliadas: {} cursos, {} autores", nuevos.porCurso.size(), nuevos.porAutor.size());
+    }
+
+    private static void aplicar(Conteos c, EventoTopico evento) {
+        if (evento.anterior() != null) {
+            sumar(c, evento.anterior(), -1);
+        }
+        if (evento.actual() != null) {
+            sumar(c, evento.actual(), 1);
+        }
+    }
+
+    private static void sumar(Conteos c, DatosRespuestaTopico topico, int delta) {
+        c.porCurso.computeIfAbsent(topico.curso(), k -> new LongAdder()).add(delta);
+        c.porStatus.computeIfAbsent(topico.status(), k -> new LongAdder()).add(delta);
+        c.porAutor.computeIfAbsent(topico.autor(), k -> new LongAdder()).add(delta);
+        c.porDia.computeIfAbsent(topico.fechaCreacion().toLocalDate(), k -> new LongAdder()).add(delta);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> void cargarConteos(Map<K, LongAdder> destino, List<Object[]> filas) {
+        for (Object[] fila : filas) {
+            LongAdder cantidad = new LongAdder();
+            cantidad.add(((Number) fila[1]).longValue());
+            destino.put((K) fila[0], cantidad);
+        }
+    }
+
+    private static Map<String, Long> copiar(Map<String, LongAdder> origen) {
+        Map<String, Long> copia = new TreeMap<>();
+        origen.forEach((clave, cantidad) -> {
+            if (cantidad.sum() > 0) {
+                copia.put(clave, cantidad.sum());
+            }
+        });
+        return copia;
+    }
+}
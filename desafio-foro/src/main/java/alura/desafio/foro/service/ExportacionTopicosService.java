@@ -0,0 +1,120 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.DatosListadoTopico;
+import alura.desafio.foro.domain.topico.Topico;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exporta tópicos como NDJSON leyendo un cursor JDBC de solo avance: cada fila se escribe en la
+ * salida apenas llega, así que la memoria no depende del tamaño de la tabla.
+ * <p>
+ * La consulta corre en una transacción readOnly: con réplica, la conexión (ocupada durante toda la descarga)
+ * se toma del pool de la réplica y no del primario.
+ */
+@Service
+public class ExportacionTopicosService {
+
+    private static final int FILAS_POR_FLUSH = 500;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Integer.MIN_VALUE hace que Connector/J entregue el resultado fila por fila en lugar de cargarlo entero.
+    @Value("${topicos.exportacion.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void inicializar() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportar(LocalDate desde, LocalDate hasta, String curso, OutputStream salida) throws IOException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, titulo, mensaje, fecha_creacion, status, autor, curso FROM topicos WHERE status <> ?");
+        List<Object> parametros = new ArrayList<>();
+        parametros.add(Topico.STATUS_ELIMINADO);
+        if (desde != null) {
+            sql.append(" AND fecha_creacion >= ?");
+            parametros.add(desde.atStartOfDay());
+        }
+        if (hasta != null) {
+            sql.append(" AND fecha_creacion < ?");
+            parametros.add(hasta.plusDays(1).atStartOfDay());
+        }
+        if (curso != null && !curso.isBlank()) {
+            sql.append(" AND curso = ?");
+            parametros.add(curso);
+        }
+        sql.append(" ORDER BY id");
+
+        try (JsonGenerator generador = objectMapper.createGenerator(salida)) {
+            generador.setRootValueSeparator(new SerializedString(""));
+            int[] filas = {0};
+            try {
+                jdbcTemplate.query(sql.toString(), (ResultSet rs) -> {
+                    escribir(generador, leer(rs));
+                    if (++filas[0] % FILAS_POR_FLUSH == 0) {
+                        flush(generador);
+                    }
+                }, parametros.toArray());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static DatosListadoTopico leer(ResultSet rs) throws SQLException {
+        return new DatosListadoTopico(
+                rs.getLong("id"),
+                rs.getString("titulo"),
+                rs.getString("mensaje"),
+                rs.getObject("fecha_creacion", LocalDateTime.class),
+                rs.getString("status"),
+                rs.getString("autor"),
+                rs.getString("curso")
+        );
+    }
+
+    private static void escribir(JsonGenerator generador, DatosListadoTopico topico) {
+        try {
+            generador.writeObject(topico);
+            generador.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void flush(JsonGenerator generador) {
+        try {
+            generador.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
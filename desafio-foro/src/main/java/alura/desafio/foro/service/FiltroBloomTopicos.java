@@ -0,0 +1,108 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.DatosHashTopico;
+import alura.desafio.foro.repository.TopicoRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom sobre hash_contenido. Si responde que un hash no está, no hace falta consultar la
+ * BD para descartar un duplicado; si responde que puede estar, se consulta. El índice único
+ * uk_topicos_hash_contenido sigue siendo la fuente de verdad (otras instancias, altas concurrentes).
+ */
+@Service
+public class FiltroBloomTopicos {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroBloomTopicos.class);
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Value("${topicos.bloom.capacidad:1000000}")
+    private long capacidad;
+
+    @Value("${topicos.bloom.tasa-falsos-positivos:0.01}")
+    private double tasaFalsosPositivos;
+
+    private AtomicLongArray bits;
+    private long cantidadBits;
+    private int cantidadHashes;
+
+    // Hasta terminar la carga inicial el filtro no puede descartar nada.
+    private volatile boolean cargado;
+
+    @PostConstruct
+    void inicializar() {
+        cantidadBits = Math.max(64, (long) Math.ceil(-capacidad * Math.log(tasaFalsosPositivos) / (Math.log(2) * Math.log(2))));
+        cantidadHashes = Math.max(1, (int) Math.round((double) cantidadBits / capacidad * Math.log(2)));
+        bits = new AtomicLongArray((int) ((cantidadBits + 63) / 64));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        long ultimoId = 0;
+        long total = 0;
+        List<DatosHashTopico> lote;
+        do {
+            lote = topicoRepository.findHashByIdGreaterThanOrderByIdAsc(ultimoId, PageRequest.ofSize(5000));
+            for (DatosHashTopico hash : lote) {
+                agregar(hash.hashContenido());
+                ultimoId = hash.id();
+            }
+            total += lote.size();
+        } while (lote.size() == 5000);
+
+        cargado = true;
+        log.info("Filtro de Bloom de tópicos cargado: {} hashes, {} bits, {} funciones", total, cantidadBits, cantidadHashes);
+    }
+
+    public boolean puedeContener(String hashContenido) {
+        if (!cargado) {
+            return true;
+        }
+        long[] base = hashesBase(hashContenido);
+        for (int i = 0; i < cantidadHashes; i++) {
+            long bit = posicion(base, i);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void agregar(String hashContenido) {
+        long[] base = hashesBase(hashContenido);
+        for (int i = 0; i < cantidadHashes; i++) {
+            long bit = posicion(base, i);
+            int palabra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long actual;
+            do {
+                actual = bits.get(palabra);
+            } while ((actual & mascara) == 0 && !bits.compareAndSet(palabra, actual, actual | mascara));
+        }
+    }
+
+    // El hash ya es SHA-256: sus primeros 128 bits alcanzan para derivar las k posiciones (Kirsch-Mitzenmacher).
+    private static long[] hashesBase(String hashContenido) {
+        return new long[]{
+                HexFormat.fromHexDigitsToLong(hashContenido, 0, 16),
+                HexFormat.fromHexDigitsToLong(hashContenido, 16, 32) | 1
+        };
+    }
+
+    private long posicion(long[] base, int i) {
+        return Math.floorMod(base[0] + i * base[1], cantidadBits);
+    }
+}
@@ -0,0 +1,182 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.usuario.Usuario;
+import alura.desafio.foro.infra.exception.ServicioSaturadoException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ejecuta los logins (consulta del usuario + BCrypt) en un pool propio y acotado, para que una ola
+ * de logins no ocupe los hilos que atienden el resto de la API. Si la cola está llena, o una tarea
+ * esperó en cola más de lo permitido, se rechaza de inmediato con {@link ServicioSaturadoException}.
+ * <p>
+ * El rechazo es un 503 y no un 429: la cola es de toda la instancia y no dice nada de un cliente en particular.
+ * El 429 por IP lo responde antes {@link alura.desafio.foro.infra.security.LimiteSolicitudesFilter}.
+ */
+@Service
+@ManagedResource(objectName = "alura.desafio.foro:name=LoginService")
+public class LoginService {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${login.hilos:0}")
+    private int hilos;
+
+    @Value("${login.capacidad-cola:100}")
+    private int capacidadCola;
+
+    @Value("${login.espera-maxima-ms:2000}")
+    private long esperaMaximaMs;
+
+    private ThreadPoolExecutor ejecutor;
+
+    private final LongAdder completados = new LongAdder();
+    private final LongAdder rechazados = new LongAdder();
+    private final LongAdder vencidosEnCola = new LongAdder();
+    private final LongAdder nanosEnCola = new LongAdder();
+    private final LongAdder nanosProcesando = new LongAdder();
+    private final LongAccumulator maximoNanosProcesando = new LongAccumulator(Long::max, 0);
+
+    private Timer esperaEnCola;
+    private Timer duracion;
+
+    @PostConstruct
+    void inicializar() {
+        // BCrypt es CPU pura: más hilos que núcleos solo alarga la cola.
+        int tamano = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        ejecutor = new ThreadPoolExecutor(tamano, tamano, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "login-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        esperaEnCola = Timer.builder("login.espera")
+                .description("Tiempo que un login esperó en cola antes de ejecutarse")
+                .register(meterRegistry);
+        duracion = Timer.builder("login.duracion")
+                .description("Autenticación (consulta + BCrypt) y generación del token")
+                .register(meterRegistry);
+        Gauge.builder("login.cola", ejecutor, e -> e.getQueue().size())
+                .description("Logins esperando en cola")
+                .register(meterRegistry);
+        FunctionCounter.builder("login.rechazados", this, s -> s.rechazados.sum() + s.vencidosEnCola.sum())
+                .description("Logins rechazados por cola llena o por esperar demasiado")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        ejecutor.shutdown();
+    }
+
+    /**
+     * Autentica y genera el token en el pool de login. Los errores de credenciales llegan como
+     * excepción del future, igual que si se hubieran lanzado en el controller.
+     */
+    public CompletableFuture<String> autenticar(String email, String contrasena) {
+        long encolado = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> ejecutar(email, contrasena, encolado), ejecutor);
+        } catch (RejectedExecutionException e) {
+            rechazados.increment();
+            throw new ServicioSaturadoException("Demasiados inicios de sesión en curso. Intenta nuevamente en unos segundos.");
+        }
+    }
+
+    private String ejecutar(String email, String contrasena, long encolado) {
+        long inicio = System.nanoTime();
+        nanosEnCola.add(inicio - encolado);
+        esperaEnCola.record(inicio - encolado, TimeUnit.NANOSECONDS);
+        if (inicio - encolado > TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs)) {
+            // El cliente probablemente ya abandonó: no vale la pena gastar un BCrypt en él.
+            vencidosEnCola.increment();
+            throw new ServicioSaturadoException("El inicio de sesión esperó demasiado en cola. Intenta nuevamente en unos segundos.");
+        }
+
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(email, contrasena));
+            return tokenService.generarToken((Usuario) authentication.getPrincipal());
+        } finally {
+            long nanos = System.nanoTime() - inicio;
+            nanosProcesando.add(nanos);
+            maximoNanosProcesando.accumulate(nanos);
+            duracion.record(nanos, TimeUnit.NANOSECONDS);
+            completados.increment();
+        }
+    }
+
+    @ManagedAttribute(description = "Logins esperando en cola")
+    public int getEnCola() {
+        return ejecutor.getQueue().size();
+    }
+
+    @ManagedAttribute(description = "Logins procesándose en este momento")
+    public int getActivos() {
+        return ejecutor.getActiveCount();
+    }
+
+    @ManagedAttribute(description = "Logins procesados (exitosos o con credenciales inválidas)")
+    public long getCompletados() {
+        return completados.sum();
+    }
+
+    @ManagedAttribute(description = "Logins rechazados por cola llena")
+    public long getRechazados() {
+        return rechazados.sum();
+    }
+
+    @ManagedAttribute(description = "Logins descartados por esperar en cola más de login.espera-maxima-ms")
+    public long getVencidosEnCola() {
+        return vencidosEnCola.sum();
+    }
+
+    @ManagedAttribute(description = "Espera promedio en cola (ms)")
+    public double getEsperaPromedioEnColaMs() {
+        long total = completados.sum() + vencidosEnCola.sum();
+        return total == 0 ? 0 : nanosEnCola.sum() / 1e6 / total;
+    }
+
+    @ManagedAttribute(description = "Duración promedio de autenticación + token (ms)")
+    public double getDuracionPromedioMs() {
+        long total = completados.sum();
+        return total == 0 ? 0 : nanosProcesando.sum() / 1e6 / total;
+    }
+
+    @ManagedAttribute(description = "Duración máxima de autenticación + token (ms)")
+    public double getDuracionMaximaMs() {
+        return maximoNanosProcesando.get() / 1e6;
+    }
+}
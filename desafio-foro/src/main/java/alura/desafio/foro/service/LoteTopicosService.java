@@ -0,0 +1,138 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.domain.topico.DatosResultadoLoteTopico;
+import alura.desafio.foro.domain.topico.EventoTopico;
+import alura.desafio.foro.domain.topico.Topico;
+import alura.desafio.foro.repository.TopicoRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Alta de varios tópicos en una sola transacción: valida cada elemento, descarta duplicados con una
+ * única consulta y deja que Hibernate agrupe los INSERT (hibernate.jdbc.batch_size).
+ * <p>
+ * Si otra solicitud confirma el mismo contenido entre la consulta y el INSERT, el índice único hace fallar el lote
+ * entero; entonces se rehace elemento por elemento y el que choca queda como DUPLICADO.
+ */
+@Service
+public class LoteTopicosService {
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private FiltroBloomTopicos filtroBloomTopicos;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Sin @Transactional: la violación del índice único aparece al confirmar, fuera de la transacción del lote.
+    public List<DatosResultadoLoteTopico> registrar(List<DatosRegistroTopico> lote) {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        try {
+            return transaccion.execute(status -> registrar(lote, 0));
+        } catch (DataIntegrityViolationException e) {
+            List<DatosResultadoLoteTopico> resultados = new ArrayList<>(lote.size());
+            for (int i = 0; i < lote.size(); i++) {
+                resultados.add(registrarUno(transaccion, lote, i));
+            }
+            return resultados;
+        }
+    }
+
+    private DatosResultadoLoteTopico registrarUno(TransactionTemplate transaccion, List<DatosRegistroTopico> lote, int i) {
+        try {
+            return transaccion.execute(status -> registrar(lote.subList(i, i + 1), i).get(0));
+        } catch (DataIntegrityViolationException e) {
+            // Solo un choque con el índice de hash_contenido es un duplicado; cualquier otra violación sigue de largo.
+            DatosRegistroTopico datos = lote.get(i);
+            String hash = Topico.calcularHashContenido(datos.titulo(), datos.mensaje());
+            if (topicoRepository.buscarHashesExistentes(Set.of(hash)).isEmpty()) {
+                throw e;
+            }
+            return DatosResultadoLoteTopico.duplicado(i);
+        }
+    }
+
+    // primerIndice: posición de lote.get(0) en la solicitud, para los índices de los resultados.
+    private List<DatosResultadoLoteTopico> registrar(List<DatosRegistroTopico> lote, int primerIndice) {
+        DatosResultadoLoteTopico[] resultados = new DatosResultadoLoteTopico[lote.size()];
+
+        // Hash de contenido -> posición del primer elemento válido con ese contenido. En el orden del lote,
+        // para que ids y fechaCreacion sigan el orden de la solicitud (listado y cursor)
+        Map<String, Integer> candidatos = new LinkedHashMap<>();
+        Set<String> aConsultar = new HashSet<>();
+        for (int i = 0; i < lote.size(); i++) {
+            DatosRegistroTopico datos = lote.get(i);
+            List<String> errores = validar(datos);
+            if (!errores.isEmpty()) {
+                resultados[i] = DatosResultadoLoteTopico.invalido(primerIndice + i, errores);
+                continue;
+            }
+
+            String hash = Topico.calcularHashContenido(datos.titulo(), datos.mensaje());
+            if (candidatos.putIfAbsent(hash, i) != null) {
+                resultados[i] = DatosResultadoLoteTopico.duplicado(primerIndice + i);
+            } else if (filtroBloomTopicos.puedeContener(hash)) {
+                aConsultar.add(hash);
+            }
+        }
+
+        Set<String> existentes = aConsultar.isEmpty() ? Set.of() : topicoRepository.buscarHashesExistentes(aConsultar);
+
+        List<Topico> nuevos = new ArrayList<>(candidatos.size());
+        List<Integer> posiciones = new ArrayList<>(candidatos.size());
+        for (Map.Entry<String, Integer> candidato : candidatos.entrySet()) {
+            int i = candidato.getValue();
+            if (existentes.contains(candidato.getKey())) {
+                resultados[i] = DatosResultadoLoteTopico.duplicado(primerIndice + i);
+            } else {
+                nuevos.add(new Topico(lote.get(i)));
+                posiciones.add(i);
+            }
+        }
+
+        topicoRepository.saveAll(nuevos);
+
+        for (int n = 0; n < nuevos.size(); n++) {
+            Topico topico = nuevos.get(n);
+            int i = posiciones.get(n);
+            resultados[i] = DatosResultadoLoteTopico.creado(primerIndice + i, topico.getId());
+            filtroBloomTopicos.agregar(topico.getHashContenido());
+            eventPublisher.publishEvent(EventoTopico.creado(topico));
+        }
+
+        return List.of(resultados);
+    }
+
+    private List<String> validar(DatosRegistroTopico datos) {
+        if (datos == null) {
+            return List.of("El elemento no puede ser nulo.");
+        }
+        List<String> errores = new ArrayList<>();
+        for (ConstraintViolation<DatosRegistroTopico> violacion : validator.validate(datos)) {
+            errores.add(violacion.getPropertyPath() + ": " + violacion.getMessage());
+        }
+        return errores;
+    }
+}
@@ -2,11 +2,17 @@ package alura.desafio.foro.service;
 
 import alura.desafio.foro.domain.usuario.Usuario;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
@@ -14,21 +20,49 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Service
+@ManagedResource(objectName = "alura.desafio.foro:name=TokenService")
 public class TokenService {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${jwt.secret:12345678}")
     private String secretOrKey;
 
     @Value("${jwt.expiration:86400000}")
     private Long expiration;
 
+    @Value("${jwt.cache.max-entradas:10000}")
+    private int maxEntradasCache;
+
+    // La clave y el parser son inmutables y thread-safe: se construyen una sola vez.
+    private SecretKey key;
+    private JwtParser parser;
+    private CacheTokensVerificados cacheTokens;
+
+    private Timer verificacionDesdeCache;
+    private Timer verificacionConFirma;
+    private Timer verificacionFallida;
+
+    @PostConstruct
+    void inicializar() {
+        key = Keys.hmacShaKeyFor(secretOrKey.getBytes());
+        parser = Jwts.parserBuilder()
+                .requireIssuer("foro_hub")
+                .setSigningKey(key)
+                .build();
+        cacheTokens = new CacheTokensVerificados(maxEntradasCache);
+        verificacionDesdeCache = timerVerificacion("cache");
+        verificacionConFirma = timerVerificacion("firma");
+        verificacionFallida = timerVerificacion("invalido");
+    }
+
     public String generarToken(Usuario usuario) {
         try {
 
-            SecretKey key = Keys.hmacShaKeyFor(secretOrKey.getBytes());
-
             Instant expira = generarFechaExpiracion();
 
             String token = Jwts.builder()
@@ -48,32 +82,75 @@ public class TokenService {
     }
 
     public String getSubject(String token) {
+        return verificarToken(token).subject();
+    }
+
+    public TokenVerificado verificarToken(String token) {
         if (token == null || token.isEmpty()) {
             throw new RuntimeException("Token JWT inválido o no proporcionado");
         }
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(secretOrKey.getBytes());
 
-            Jws<Claims> jws = Jwts.parserBuilder()
-                    .requireIssuer("foro_hub")
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
+        long inicio = System.nanoTime();
+        TokenVerificado enCache = cacheTokens.obtener(token);
+        if (enCache != null) {
+            verificacionDesdeCache.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return enCache;
+        }
 
-            String subject = jws.getBody().getSubject();
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+
+            String subject = claims.getSubject();
 
             if (subject == null) {
                 throw new RuntimeException("Token JWT inválido: no se encontró el 'subject'");
             }
-            return subject;
+
+            TokenVerificado verificado = new TokenVerificado(
+                    subject,
+                    claims.get("id", Long.class),
+                    claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE
+            );
+            cacheTokens.guardar(token, verificado);
+            verificacionConFirma.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return verificado;
 
         } catch (Exception exception) {
+            verificacionFallida.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
             throw new RuntimeException("Token JWT inválido o expirado", exception);
         }
     }
+
+    // No valida la firma: devuelve una verificación anterior todavía vigente, o null.
+    public TokenVerificado verificadoPreviamente(String token) {
+        return cacheTokens.consultar(token);
+    }
+
+    @ManagedAttribute(description = "Verificaciones resueltas desde el cache de tokens")
+    public long getAciertosCacheTokens() {
+        return cacheTokens.getAciertos();
+    }
+
+    @ManagedAttribute(description = "Verificaciones que requirieron validar firma y parsear el token")
+    public long getFallosCacheTokens() {
+        return cacheTokens.getFallos();
+    }
+
+    @ManagedAttribute(description = "Tokens verificados actualmente en cache")
+    public int getTamanoCacheTokens() {
+        return cacheTokens.getTamano();
+    }
+
+    private Timer timerVerificacion(String origen) {
+        return Timer.builder("jwt.verificacion")
+                .description("Verificación de tokens JWT según de dónde salió el resultado")
+                .tag("origen", origen)
+                .register(meterRegistry);
+    }
+
     private Instant generarFechaExpiracion() {
 
         return LocalDateTime.now().plusSeconds(expiration / 1000)
                 .atOffset(ZoneOffset.UTC).toInstant();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package alura.desafio.foro.service;
+
+public record TokenVerificado(
+        String subject,
+        Long id,
+        long expiraEnMillis
+) {
+    public boolean expirado(long ahoraEnMillis) {
+        return ahoraEnMillis >= expiraEnMillis;
+    }
+}
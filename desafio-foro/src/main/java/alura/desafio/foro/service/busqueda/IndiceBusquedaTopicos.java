@@ -0,0 +1,169 @@
+package alura.desafio.foro.service.busqueda;
+
+import alura.desafio.foro.domain.topico.EventoTopico;
+import alura.desafio.foro.domain.topico.Topico;
+import alura.desafio.foro.domain.topico.TopicosArchivados;
+import alura.desafio.foro.repository.RegistroEventoTopicoRepository;
+import alura.desafio.foro.repository.TopicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria de título y mensaje. Se reconstruye al arrancar, se actualiza con los eventos
+ * de esta instancia y, para ver lo que cambian otras, revisa periódicamente el outbox eventos_topicos y
+ * vuelve a indexar desde la tabla los tópicos que aparecen ahí.
+ */
+@Service
+public class IndiceBusquedaTopicos {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceBusquedaTopicos.class);
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private RegistroEventoTopicoRepository registroEventoTopicoRepository;
+
+    @Value("${busqueda.lote-reconstruccion:1000}")
+    private int loteReconstruccion;
+
+    @Value("${busqueda.lote-revision:1000}")
+    private int loteRevision;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndiceInvertido indice = new IndiceInvertido();
+
+    // Cambios confirmados mientras se reconstruye; se vuelven a aplicar sobre el índice nuevo.
+    private final List<EventoTopico> pendientes = new ArrayList<>();
+    private boolean reconstruyendo;
+
+    // Última secuencia del outbox ya revisada; -1 hasta terminar la primera reconstrucción.
+    private volatile long ultimaSecuencia = -1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try {
+            reconstruyendo = true;
+            pendientes.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Se lee antes de recorrer la tabla: lo numerado durante el recorrido se revisa otra vez (indexar es idempotente).
+        Long secuenciaInicial = registroEventoTopicoRepository.ultimaSecuencia();
+        IndiceInvertido nuevo = new IndiceInvertido();
+        long ultimoId = 0;
+        List<Topico> lote;
+        do {
+            lote = topicoRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, PageRequest.ofSize(loteReconstruccion));
+            for (Topico topico : lote) {
+                nuevo.indexar(topico.getId(), topico.getTitulo(), topico.getMensaje());
+                ultimoId = topico.getId();
+            }
+        } while (lote.size() == loteReconstruccion);
+        nuevo.compactar();
+
+        lock.writeLock().lock();
+        try {
+            pendientes.forEach(evento -> aplicar(nuevo, evento));
+            pendientes.clear();
+            indice = nuevo;
+            reconstruyendo = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ultimaSecuencia = secuenciaInicial != null ? secuenciaInicial : 0;
+        log.info("Índice de búsqueda reconstruido: {} tópicos, {} términos",
+                nuevo.cantidadDocumentos(), nuevo.cantidadTerminos());
+    }
+
+    // Los cambios de esta instancia ya llegaron por evento; se vuelven a leer igual, es más simple que distinguirlos.
+    @Scheduled(fixedDelayString = "${busqueda.revisar-ms:5000}", initialDelayString = "${busqueda.revisar-ms:5000}")
+    public void revisarCambios() {
+        if (ultimaSecuencia < 0) {
+            return;
+        }
+        List<Object[]> cambios;
+        do {
+            cambios = registroEventoTopicoRepository.buscarCambiosDesde(ultimaSecuencia, PageRequest.ofSize(loteRevision));
+            if (cambios.isEmpty()) {
+                return;
+            }
+            Set<Long> ids = new LinkedHashSet<>();
+            cambios.forEach(fila -> ids.add((Long) fila[1]));
+            // Eliminados y archivados no vuelven (restricción de Topico): se quitan del índice.
+            Map<Long, Topico> vigentes = topicoRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Topico::getId, Function.identity()));
+
+            lock.writeLock().lock();
+            try {
+                for (Long id : ids) {
+                    Topico topico = vigentes.get(id);
+                    if (topico == null) {
+                        indice.eliminar(id);
+                    } else {
+                        indice.indexar(id, topico.getTitulo(), topico.getMensaje());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ultimaSecuencia = (Long) cambios.get(cambios.size() - 1)[0];
+        } while (cambios.size() == loteRevision);
+    }
+
+    @TransactionalEventListener
+    public void alCambiarTopico(EventoTopico evento) {
+        lock.writeLock().lock();
+        try {
+            aplicar(indice, evento);
+            if (reconstruyendo) {
+                pendientes.add(evento);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void alArchivarTopicos(TopicosArchivados archivados) {
+        for (Long id : archivados.ids()) {
+            alCambiarTopico(EventoTopico.eliminado(id, null));
+        }
+    }
+
+    public List<ResultadoBusqueda> buscar(String consulta, int limite) {
+        lock.readLock().lock();
+        try {
+            return indice.buscar(consulta, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void aplicar(IndiceInvertido destino, EventoTopico evento) {
+        if (evento.actual() == null) {
+            destino.eliminar(evento.id());
+        } else {
+            destino.indexar(evento.id(), evento.actual().titulo(), evento.actual().mensaje());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package alura.desafio.foro.service.busqueda;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Índice invertido en memoria sobre título y mensaje, con ranking BM25. Las apariciones en el
+ * título pesan más que las del mensaje. Las consultas recorren las listas de los términos en
+ * paralelo (documento a documento), sin acumuladores por tópico. No es thread-safe: la
+ * sincronización queda a cargo de {@link IndiceBusquedaTopicos}.
+ */
+public final class IndiceInvertido {
+
+    static final int PESO_TITULO = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, ListaPostings> postings = new HashMap<>();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private long longitudTotal;
+
+    private record Documento(String[] terminos, int longitud) {
+    }
+
+    public void indexar(long id, String titulo, String mensaje) {
+        eliminar(id);
+
+        Map<String, Integer> frecuencias = new HashMap<>();
+        for (String termino : Tokenizador.tokenizar(titulo)) {
+            frecuencias.merge(termino, PESO_TITULO, Integer::sum);
+        }
+        for (String termino : Tokenizador.tokenizar(mensaje)) {
+            frecuencias.merge(termino, 1, Integer::sum);
+        }
+
+        int longitud = frecuencias.values().stream().mapToInt(Integer::intValue).sum();
+        for (Map.Entry<String, Integer> entrada : frecuencias.entrySet()) {
+            postings.computeIfAbsent(entrada.getKey(), t -> new ListaPostings()).poner(id, entrada.getValue(), longitud);
+        }
+        documentos.put(id, new Documento(frecuencias.keySet().toArray(String[]::new), longitud));
+        longitudTotal += longitud;
+    }
+
+    public void eliminar(long id) {
+        Documento documento = documentos.remove(id);
+        if (documento == null) {
+            return;
+        }
+        for (String termino : documento.terminos()) {
+            ListaPostings lista = postings.get(termino);
+            lista.quitar(id);
+            if (lista.tamano() == 0) {
+                postings.remove(termino);
+            }
+        }
+        longitudTotal -= documento.longitud();
+    }
+
+    public List<ResultadoBusqueda> buscar(String consulta, int limite) {
+        if (documentos.isEmpty()) {
+            return List.of();
+        }
+
+        ListaPostings[] listas = new LinkedHashSet<>(Tokenizador.tokenizar(consulta)).stream()
+                .map(postings::get)
+                .filter(Objects::nonNull)
+                .toArray(ListaPostings[]::new);
+
+        int totalDocumentos = documentos.size();
+        double longitudPromedio = (double) longitudTotal / totalDocumentos;
+        double[] idf = new double[listas.length];
+        for (int t = 0; t < listas.length; t++) {
+            int df = listas[t].tamano();
+            idf[t] = Math.log(1 + (totalDocumentos - df + 0.5) / (df + 0.5));
+        }
+
+        // Top-k con un heap de mínimos; a igual puntaje gana el tópico más reciente (id mayor).
+        Comparator<ResultadoBusqueda> orden = Comparator.comparingDouble(ResultadoBusqueda::puntaje)
+                .thenComparingLong(ResultadoBusqueda::id);
+        PriorityQueue<ResultadoBusqueda> mejores = new PriorityQueue<>(limite + 1, orden);
+
+        int[] posiciones = new int[listas.length];
+        while (true) {
+            long id = Long.MAX_VALUE;
+            for (int t = 0; t < listas.length; t++) {
+                if (posiciones[t] < listas[t].tamano()) {
+                    id = Math.min(id, listas[t].id(posiciones[t]));
+                }
+            }
+            if (id == Long.MAX_VALUE) {
+                break;
+            }
+
+            double puntaje = 0;
+            for (int t = 0; t < listas.length; t++) {
+                int i = posiciones[t];
+                if (i < listas[t].tamano() && listas[t].id(i) == id) {
+                    int tf = listas[t].frecuencia(i);
+                    double normalizacion = K1 * (1 - B + B * listas[t].longitudDocumento(i) / longitudPromedio);
+                    puntaje += idf[t] * tf * (K1 + 1) / (tf + normalizacion);
+                    posiciones[t]++;
+                }
+            }
+
+            ResultadoBusqueda resultado = new ResultadoBusqueda(id, puntaje);
+            if (mejores.size() < limite) {
+                mejores.add(resultado);
+            } else if (orden.compare(resultado, mejores.peek()) > 0) {
+                mejores.poll();
+                mejores.add(resultado);
+            }
+        }
+
+        List<ResultadoBusqueda> resultados = new ArrayList<>(mejores);
+        resultados.sort(orden.reversed());
+        return resultados;
+    }
+
+    public void compactar() {
+        postings.values().forEach(ListaPostings::compactar);
+    }
+
+    public int cantidadDocumentos() {
+        return documentos.size();
+    }
+
+    public int cantidadTerminos() {
+        return postings.size();
+    }
+}
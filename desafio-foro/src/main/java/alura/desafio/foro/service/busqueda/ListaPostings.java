@@ -0,0 +1,82 @@
+package alura.desafio.foro.service.busqueda;
+
+import java.util.Arrays;
+
+/**
+ * Lista de apariciones de un término: ids de tópico ordenados, su frecuencia y la longitud del
+ * documento, en arreglos primitivos paralelos. Los ids nuevos suelen ser los mayores, así que
+ * agregar es casi siempre un append.
+ */
+final class ListaPostings {
+
+    private long[] ids = new long[4];
+    private int[] frecuencias = new int[4];
+    private int[] longitudes = new int[4];
+    private int tamano;
+
+    void poner(long id, int frecuencia, int longitudDocumento) {
+        int posicion;
+        if (tamano == 0 || ids[tamano - 1] < id) {
+            posicion = tamano;
+        } else {
+            posicion = Arrays.binarySearch(ids, 0, tamano, id);
+            if (posicion >= 0) {
+                frecuencias[posicion] = frecuencia;
+                longitudes[posicion] = longitudDocumento;
+                return;
+            }
+            posicion = -posicion - 1;
+        }
+
+        asegurarCapacidad();
+        System.arraycopy(ids, posicion, ids, posicion + 1, tamano - posicion);
+        System.arraycopy(frecuencias, posicion, frecuencias, posicion + 1, tamano - posicion);
+        System.arraycopy(longitudes, posicion, longitudes, posicion + 1, tamano - posicion);
+        ids[posicion] = id;
+        frecuencias[posicion] = frecuencia;
+        longitudes[posicion] = longitudDocumento;
+        tamano++;
+    }
+
+    void quitar(long id) {
+        int posicion = Arrays.binarySearch(ids, 0, tamano, id);
+        if (posicion < 0) {
+            return;
+        }
+        System.arraycopy(ids, posicion + 1, ids, posicion, tamano - posicion - 1);
+        System.arraycopy(frecuencias, posicion + 1, frecuencias, posicion, tamano - posicion - 1);
+        System.arraycopy(longitudes, posicion + 1, longitudes, posicion, tamano - posicion - 1);
+        tamano--;
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    long id(int i) {
+        return ids[i];
+    }
+
+    int frecuencia(int i) {
+        return frecuencias[i];
+    }
+
+    int longitudDocumento(int i) {
+        return longitudes[i];
+    }
+
+    void compactar() {
+        ids = Arrays.copyOf(ids, tamano);
+        frecuencias = Arrays.copyOf(frecuencias, tamano);
+        longitudes = Arrays.copyOf(longitudes, tamano);
+    }
+
+    private void asegurarCapacidad() {
+        if (tamano == ids.length) {
+            int capacidad = Math.max(4, tamano + (tamano >> 1));
+            ids = Arrays.copyOf(ids, capacidad);
+            frecuencias = Arrays.copyOf(frecuencias, capacidad);
+            longitudes = Arrays.copyOf(longitudes, capacidad);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package alura.desafio.foro.service.busqueda;
+
+public record ResultadoBusqueda(
+        long id,
+        double puntaje
+) {
+}
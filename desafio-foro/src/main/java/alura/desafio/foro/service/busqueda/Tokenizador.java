@@ -0,0 +1,57 @@
+package alura.desafio.foro.service.busqueda;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Separa un texto en términos: minúsculas, sin tildes ni diéresis (la ñ se conserva)
+ * y sin las palabras vacías más frecuentes del español.
+ */
+public final class Tokenizador {
+
+    // Marcas diacríticas salvo la tilde de la ñ (n + U+0303 en forma NFD).
+    private static final Pattern DIACRITICOS = Pattern.compile("(?<!n)\\p{M}");
+
+    private static final Set<String> PALABRAS_VACIAS = Set.of(
+            "de", "la", "que", "el", "en", "y", "a", "los", "del", "se", "las", "por", "un", "para",
+            "con", "no", "una", "su", "al", "lo", "como", "mas", "pero", "sus", "le", "ya", "o", "u",
+            "e", "es", "son", "este", "esta", "esto", "estos", "estas", "ese", "esa", "eso", "si",
+            "porque", "entre", "cuando", "muy", "sin", "sobre", "tambien", "me", "mi", "hay", "donde",
+            "desde", "todo", "nos", "les", "ni", "otro", "otra", "yo", "tu", "te", "ha", "fue", "ser"
+    );
+
+    private Tokenizador() {
+    }
+
+    public static List<String> tokenizar(String texto) {
+        List<String> terminos = new ArrayList<>();
+        if (texto == null || texto.isEmpty()) {
+            return terminos;
+        }
+
+        String normalizado = Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        normalizado = Normalizer.normalize(DIACRITICOS.matcher(normalizado).replaceAll(""), Normalizer.Form.NFC);
+
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean letra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (letra && inicio < 0) {
+                inicio = i;
+            } else if (!letra && inicio >= 0) {
+                agregar(terminos, normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return terminos;
+    }
+
+    private static void agregar(List<String> terminos, String termino) {
+        if (termino.length() > 1 && !PALABRAS_VACIAS.contains(termino)) {
+            terminos.add(termino);
+        }
+    }
+}
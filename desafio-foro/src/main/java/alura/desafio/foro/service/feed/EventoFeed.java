@@ -0,0 +1,17 @@
+package alura.desafio.foro.service.feed;
+
+import alura.desafio.foro.domain.topico.RegistroEventoTopico;
+
+// Evento ya publicado por el relay; 'datos' es el JSON guardado en el outbox.
+public record EventoFeed(
+        long secuencia,
+        String tipo,
+        String datos
+) {
+    // Comentario SSE que mantiene viva la conexión a través de proxies; no avanza la secuencia.
+    static final EventoFeed LATIDO = new EventoFeed(0, null, null);
+
+    public EventoFeed(RegistroEventoTopico registro) {
+        this(registro.getSecuencia(), registro.getTipo().name(), registro.getDatos());
+    }
+}
\ No newline at end of file
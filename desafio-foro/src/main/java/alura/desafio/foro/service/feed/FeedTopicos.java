@@ -0,0 +1,316 @@
+package alura.desafio.foro.service.feed;
+
+import alura.desafio.foro.infra.exception.ServicioSaturadoException;
+import alura.desafio.foro.repository.RegistroEventoTopicoRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suscriptores de GET /topicos/feed. Cada uno tiene un buffer acotado que llena el relay y que vacía
+ * un pool de envío compartido; si el buffer se llena (cliente lento) se cierra la conexión y el
+ * cliente se reconecta con Last-Event-ID, retomando desde el outbox sin frenar a los demás.
+ * <p>
+ * Un envío bloqueado (cliente que no lee) retiene su hilo hasta que falla la escritura. Si dura más de
+ * {@code topicos.feed.timeout-envio-ms} el suscriptor se descarta y el pool suma un hilo mientras ese
+ * envío siga bloqueado, así los demás suscriptores conservan {@code topicos.feed.hilos-envio} hilos.
+ */
+@Service
+@ManagedResource(objectName = "alura.desafio.foro:name=FeedTopicos")
+public class FeedTopicos {
+
+    @Autowired
+    private RegistroEventoTopicoRepository registroEventoTopicoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${topicos.feed.capacidad-buffer:256}")
+    private int capacidadBuffer;
+
+    @Value("${topicos.feed.max-suscriptores:1000}")
+    private int maxSuscriptores;
+
+    @Value("${topicos.feed.max-reanudacion:1000}")
+    private int maxReanudacion;
+
+    @Value("${topicos.feed.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${topicos.feed.hilos-envio:4}")
+    private int hilosEnvio;
+
+    @Value("${topicos.feed.timeout-envio-ms:10000}")
+    private long timeoutEnvioMs;
+
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor envios;
+    // Hilos retenidos por envíos ya descartados; el pool los repone (ver revisarEnvios).
+    private int hilosBloqueados;
+
+    private final LongAdder enviados = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+
+    private static final long ENVIO_ABANDONADO = -1;
+
+    private class Suscriptor {
+        final SseEmitter emitter;
+        final BlockingQueue<EventoFeed> buffer = new ArrayBlockingQueue<>(capacidadBuffer);
+        final AtomicBoolean enviando = new AtomicBoolean();
+        final AtomicBoolean cerrado = new AtomicBoolean();
+        // Inicio (currentTimeMillis) del envío en curso, 0 sin envío, ENVIO_ABANDONADO si se descartó durante el envío.
+        final AtomicLong envioDesde = new AtomicLong();
+        // Eventos del outbox anteriores a la suscripción; se envían antes que el buffer.
+        volatile Queue<EventoFeed> reanudacion;
+        volatile long ultimaEnviada;
+        volatile boolean activo = true;
+
+        Suscriptor(SseEmitter emitter, long ultimaEnviada) {
+            this.emitter = emitter;
+            this.ultimaEnviada = ultimaEnviada;
+        }
+
+        EventoFeed siguiente() {
+            Queue<EventoFeed> pendientes = reanudacion;
+            EventoFeed evento = pendientes.poll();
+            return evento != null ? evento : buffer.poll();
+        }
+    }
+
+    @PostConstruct
+    void inicializar() {
+        AtomicInteger contador = new AtomicInteger();
+        envios = new ThreadPoolExecutor(hilosEnvio, hilosEnvio, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "feed-envio-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+
+        Gauge.builder("topicos.feed.suscriptores", suscriptores, Set::size)
+                .description("Conexiones abiertas en GET /topicos/feed")
+                .register(meterRegistry);
+        FunctionCounter.builder("topicos.feed.descartados", descartados, LongAdder::sum)
+                .description("Suscriptores desconectados por no consumir a tiempo")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        suscriptores.forEach(this::desconectar);
+        envios.shutdownNow();
+    }
+
+    /**
+     * Abre una suscripción. Con {@code ultimoEventoId} se reenvían primero los eventos posteriores
+     * guardados en el outbox; si son más de los permitidos se envía un evento REINICIO para que el
+     * cliente recargue el listado y se sigue solo con los nuevos.
+     */
+    public SseEmitter suscribir(Long ultimoEventoId) {
+        if (suscriptores.size() >= maxSuscriptores) {
+            throw new ServicioSaturadoException("Demasiadas conexiones al feed. Intenta nuevamente en unos segundos.");
+        }
+
+        SseEmitter emitter = crearEmitter(timeoutMs);
+        Suscriptor suscriptor = new Suscriptor(emitter, ultimoEventoId != null ? ultimoEventoId : 0);
+        emitter.onCompletion(() -> quitar(suscriptor));
+        emitter.onTimeout(() -> quitar(suscriptor));
+        emitter.onError(e -> quitar(suscriptor));
+
+        // Se registra antes de leer el outbox: lo que el relay publique desde ahora queda en el buffer
+        // y lo repetido se salta por secuencia.
+        suscriptores.add(suscriptor);
+
+        Queue<EventoFeed> reanudacion = new ArrayDeque<>();
+        if (ultimoEventoId != null) {
+            List<EventoFeed> pendientes = registroEventoTopicoRepository
+                    .findBySecuenciaGreaterThanOrderBySecuenciaAsc(ultimoEventoId, PageRequest.ofSize(maxReanudacion + 1))
+                    .stream()
+                    .map(EventoFeed::new)
+                    .toList();
+            if (pendientes.size() > maxReanudacion) {
+                long ultima = pendientes.get(pendientes.size() - 1).secuencia();
+                reanudacion.add(new EventoFeed(ultima, "REINICIO", "{}"));
+            } else {
+                reanudacion.addAll(pendientes);
+            }
+        }
+        suscriptor.reanudacion = reanudacion;
+        programarEnvio(suscriptor);
+        return emitter;
+    }
+
+    SseEmitter crearEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    // Lo llama únicamente el relay de esta instancia, en orden de secuencia.
+    void publicar(List<EventoFeed> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        for (Suscriptor suscriptor : suscriptores) {
+            encolar(suscriptor, eventos);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${topicos.feed.latido-ms:15000}")
+    public void enviarLatidos() {
+        List<EventoFeed> latido = List.of(EventoFeed.LATIDO);
+        for (Suscriptor suscriptor : suscriptores) {
+            encolar(suscriptor, latido);
+        }
+    }
+
+    /**
+     * Descarta los suscriptores con un envío que lleva más de {@code timeoutEnvioMs}. No se completa el
+     * emitter desde aquí: lo retiene el envío en curso, así que lo cierra el hilo de envío cuando termina.
+     */
+    @Scheduled(fixedDelayString = "${topicos.feed.revision-envios-ms:1000}")
+    public void revisarEnvios() {
+        long limite = System.currentTimeMillis() - timeoutEnvioMs;
+        for (Suscriptor suscriptor : suscriptores) {
+            long desde = suscriptor.envioDesde.get();
+            if (desde > 0 && desde < limite && suscriptor.envioDesde.compareAndSet(desde, ENVIO_ABANDONADO)) {
+                sumarHilo();
+                descartar(suscriptor);
+            }
+        }
+    }
+
+    @ManagedAttribute(description = "Conexiones abiertas en el feed")
+    public int getSuscriptores() {
+        return suscriptores.size();
+    }
+
+    @ManagedAttribute(description = "Eventos enviados a suscriptores")
+    public long getEnviados() {
+        return enviados.sum();
+    }
+
+    @ManagedAttribute(description = "Suscriptores desconectados por buffer lleno o envío bloqueado")
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    private void encolar(Suscriptor suscriptor, List<EventoFeed> eventos) {
+        for (EventoFeed evento : eventos) {
+            if (!suscriptor.buffer.offer(evento)) {
+                descartar(suscriptor);
+                return;
+            }
+        }
+        programarEnvio(suscriptor);
+    }
+
+    // A lo sumo una tarea de envío por suscriptor, así los eventos salen en orden.
+    private void programarEnvio(Suscriptor suscriptor) {
+        if (suscriptor.reanudacion != null && suscriptor.activo && suscriptor.enviando.compareAndSet(false, true)) {
+            envios.execute(() -> enviar(suscriptor));
+        }
+    }
+
+    private void enviar(Suscriptor suscriptor) {
+        try {
+            EventoFeed evento;
+            while (suscriptor.activo && (evento = suscriptor.siguiente()) != null) {
+                if (evento == EventoFeed.LATIDO) {
+                    enviar(suscriptor, SseEmitter.event().comment("latido"));
+                    continue;
+                }
+                if (evento.secuencia() <= suscriptor.ultimaEnviada && !"REINICIO".equals(evento.tipo())) {
+                    continue;
+                }
+                enviar(suscriptor, SseEmitter.event()
+                        .id(Long.toString(evento.secuencia()))
+                        .name(evento.tipo())
+                        .data(evento.datos()));
+                suscriptor.ultimaEnviada = evento.secuencia();
+                enviados.increment();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Conexión cerrada por el cliente o emitter ya completado.
+            quitar(suscriptor);
+        } finally {
+            suscriptor.enviando.set(false);
+        }
+        if (!suscriptor.activo) {
+            completar(suscriptor);
+        } else if (!suscriptor.buffer.isEmpty()) {
+            programarEnvio(suscriptor);
+        }
+    }
+
+    private void enviar(Suscriptor suscriptor, SseEmitter.SseEventBuilder evento) throws IOException {
+        suscriptor.envioDesde.set(System.currentTimeMillis());
+        try {
+            suscriptor.emitter.send(evento);
+        } finally {
+            if (suscriptor.envioDesde.getAndSet(0) == ENVIO_ABANDONADO) {
+                liberarHilo();
+            }
+        }
+    }
+
+    private void descartar(Suscriptor suscriptor) {
+        descartados.increment();
+        desconectar(suscriptor);
+    }
+
+    private void desconectar(Suscriptor suscriptor) {
+        quitar(suscriptor);
+        // Con un envío en curso el emitter está tomado hasta que termine; entonces lo completa enviar().
+        if (!suscriptor.enviando.get()) {
+            completar(suscriptor);
+        }
+    }
+
+    private void completar(Suscriptor suscriptor) {
+        if (suscriptor.cerrado.compareAndSet(false, true)) {
+            suscriptor.emitter.complete();
+        }
+    }
+
+    private synchronized void sumarHilo() {
+        hilosBloqueados++;
+        envios.setMaximumPoolSize(hilosEnvio + hilosBloqueados);
+        envios.setCorePoolSize(hilosEnvio + hilosBloqueados);
+    }
+
+    private synchronized void liberarHilo() {
+        hilosBloqueados--;
+        envios.setCorePoolSize(hilosEnvio + hilosBloqueados);
+        envios.setMaximumPoolSize(hilosEnvio + hilosBloqueados);
+    }
+
+    private void quitar(Suscriptor suscriptor) {
+        suscriptor.activo = false;
+        suscriptores.remove(suscriptor);
+    }
+}
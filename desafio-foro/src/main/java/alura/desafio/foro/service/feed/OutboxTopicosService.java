@@ -0,0 +1,33 @@
+package alura.desafio.foro.service.feed;
+
+import alura.desafio.foro.domain.topico.DatosEventoFeedTopico;
+import alura.desafio.foro.domain.topico.EventoTopico;
+import alura.desafio.foro.domain.topico.RegistroEventoTopico;
+import alura.desafio.foro.repository.RegistroEventoTopicoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class OutboxTopicosService {
+
+    @Autowired
+    private RegistroEventoTopicoRepository registroEventoTopicoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Listener síncrono: corre dentro de la transacción que publicó el evento, así que la fila del
+    // outbox se confirma o se descarta junto con el cambio del tópico.
+    @EventListener
+    public void registrar(EventoTopico evento) {
+        try {
+            String datos = objectMapper.writeValueAsString(new DatosEventoFeedTopico(evento));
+            registroEventoTopicoRepository.save(new RegistroEventoTopico(evento, datos));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento del tópico " + evento.id(), e);
+        }
+    }
+}
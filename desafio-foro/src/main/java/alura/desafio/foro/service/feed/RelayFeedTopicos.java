@@ -0,0 +1,161 @@
+package alura.desafio.foro.service.feed;
+
+import alura.desafio.foro.domain.topico.EventoTopico;
+import alura.desafio.foro.domain.topico.RegistroEventoTopico;
+import alura.desafio.foro.repository.RegistroEventoTopicoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publicador del outbox de tópicos, uno por instancia. Primero numera las filas pendientes con la
+ * secuencia del feed bajo el lock de una fila de generador_ids: entre todas las instancias solo una
+ * numera a la vez, así la secuencia es estrictamente creciente y cada número queda visible después de
+ * los anteriores. Después reparte a {@link FeedTopicos} todo lo numerado por encima de lo que ya
+ * publicó, sin importar qué instancia lo numeró. Se despierta tras cada commit local y revisa
+ * periódicamente para ver los cambios de otras instancias.
+ * <p>
+ * Los pendientes se numeran por fecha_registro, la hora del primario al insertar, y no por id: cada instancia
+ * reserva bloques de 50 ids, así que un evento de una instancia puede tener un id menor que otro anterior de
+ * otra. El orden del feed es el de inserción, no el de commit: un evento cuya transacción confirma tarde
+ * recibe una secuencia posterior a la de eventos que se insertaron después. Para un mismo tópico ambos
+ * coinciden, porque @Version impide que dos transacciones que se solapan lo modifiquen las dos.
+ */
+@Service
+public class RelayFeedTopicos {
+
+    private static final Logger log = LoggerFactory.getLogger(RelayFeedTopicos.class);
+
+    @Autowired
+    private RegistroEventoTopicoRepository registroEventoTopicoRepository;
+
+    @Autowired
+    private FeedTopicos feedTopicos;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${topicos.feed.relay-ms:1000}")
+    private long intervaloMs;
+
+    @Value("${topicos.feed.lote-relay:500}")
+    private int tamanoLote;
+
+    @Value("${topicos.feed.retencion-horas:24}")
+    private long retencionHoras;
+
+    private static final String ENTIDAD_SECUENCIA = "eventos_topicos_secuencia";
+
+    private JdbcTemplate jdbcTemplate;
+    private ScheduledExecutorService ejecutor;
+    private final AtomicBoolean despertado = new AtomicBoolean();
+    // Última secuencia repartida a los suscriptores de esta instancia.
+    private long ultimaPublicada;
+    private boolean cargarUltimaPublicada = true;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        ejecutor = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "feed-relay");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        ejecutor.scheduleWithFixedDelay(this::publicarPendientes, 0, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        if (ejecutor != null) {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener
+    public void alCambiarTopico(EventoTopico evento) {
+        // Un lote de altas produce muchos eventos; basta con una ejecución pendiente.
+        if (ejecutor != null && despertado.compareAndSet(false, true)) {
+            ejecutor.execute(this::publicarPendientes);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${topicos.feed.limpieza-ms:600000}")
+    public void eliminarAntiguos() {
+        int eliminados = registroEventoTopicoRepository.eliminarPublicadosAntesDe(LocalDateTime.now().minusHours(retencionHoras));
+        if (eliminados > 0) {
+            log.debug("Eliminados {} eventos publicados del outbox de tópicos", eliminados);
+        }
+    }
+
+    private void publicarPendientes() {
+        despertado.set(false);
+        try {
+            if (cargarUltimaPublicada) {
+                // Lo numerado antes de arrancar lo reciben los clientes que reanudan con Last-Event-ID.
+                Long ultima = registroEventoTopicoRepository.ultimaSecuencia();
+                ultimaPublicada = ultima != null ? ultima : 0;
+                cargarUltimaPublicada = false;
+            }
+            if (registroEventoTopicoRepository.existsBySecuenciaIsNull()) {
+                int numeradas;
+                do {
+                    numeradas = numerarLote();
+                } while (numeradas == tamanoLote);
+            }
+            List<EventoFeed> publicados;
+            do {
+                publicados = registroEventoTopicoRepository
+                        .findBySecuenciaGreaterThanOrderBySecuenciaAsc(ultimaPublicada, PageRequest.ofSize(tamanoLote))
+                        .stream()
+                        .map(EventoFeed::new)
+                        .toList();
+                feedTopicos.publicar(publicados);
+                if (!publicados.isEmpty()) {
+                    ultimaPublicada = publicados.get(publicados.size() - 1).secuencia();
+                }
+            } while (publicados.size() == tamanoLote);
+        } catch (RuntimeException e) {
+            // Una excepción cancelaría la ejecución periódica; se reintenta en la siguiente vuelta.
+            log.warn("No se pudieron publicar los eventos pendientes del outbox de tópicos", e);
+        }
+    }
+
+    // Otra instancia que esté numerando espera al commit de esta y después ya no ve estas filas como pendientes.
+    private int numerarLote() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            long secuencia = jdbcTemplate.queryForObject(
+                    "SELECT siguiente_valor FROM generador_ids WHERE entidad = ? FOR UPDATE", Long.class, ENTIDAD_SECUENCIA);
+            List<RegistroEventoTopico> pendientes = registroEventoTopicoRepository
+                    .findBySecuenciaIsNullOrderByFechaRegistroAscIdAsc(PageRequest.ofSize(tamanoLote));
+            for (RegistroEventoTopico registro : pendientes) {
+                registro.asignarSecuencia(++secuencia);
+            }
+            if (!pendientes.isEmpty()) {
+                jdbcTemplate.update("UPDATE generador_ids SET siguiente_valor = ? WHERE entidad = ?", secuencia, ENTIDAD_SECUENCIA);
+            }
+            return pendientes.size();
+        });
+    }
+}
@@ -0,0 +1,141 @@
+package alura.desafio.foro.service.importacion;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.domain.topico.DatosReporteImportacion;
+import alura.desafio.foro.domain.topico.DatosResultadoLoteTopico;
+import alura.desafio.foro.service.LoteTopicosService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Importa tópicos desde NDJSON o CSV sin cargar el archivo: lee registro a registro, guarda en
+ * lotes de tamaño fijo (una transacción por lote, vía {@link LoteTopicosService}) y va escribiendo
+ * el reporte a medida que avanza. En memoria solo vive el lote en curso.
+ * <p>
+ * Si un lote no se puede guardar (la transacción falla entera), sus registros se informan como FALLIDO y se
+ * sigue con el siguiente: el reporte siempre termina con la línea FIN.
+ */
+@Service
+public class ImportacionTopicosService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionTopicosService.class);
+
+    @Autowired
+    private LoteTopicosService loteTopicosService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${topicos.importacion.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${topicos.importacion.max-caracteres-registro:65536}")
+    private int maxCaracteresRegistro;
+
+    public LectorRegistros crearLector(InputStream entrada, boolean csv) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        return csv ? new LectorCsv(reader, maxCaracteresRegistro) : new LectorNdjson(reader, objectMapper, maxCaracteresRegistro);
+    }
+
+    public void importar(LectorRegistros lector, OutputStream salida) throws IOException {
+        try (JsonGenerator reporte = objectMapper.createGenerator(salida)) {
+            reporte.setRootValueSeparator(new SerializedString(""));
+            Contadores contadores = new Contadores();
+
+            List<DatosRegistroTopico> lote = new ArrayList<>(tamanoLote);
+            List<Long> lineas = new ArrayList<>(tamanoLote);
+            RegistroLeido registro;
+            while ((registro = lector.siguiente()) != null) {
+                if (registro.error() != null) {
+                    contadores.procesados++;
+                    contadores.invalidos++;
+                    escribir(reporte, DatosReporteImportacion.error(registro.linea(),
+                            DatosResultadoLoteTopico.Resultado.INVALIDO, List.of(registro.error()), contadores.avance("ERROR")));
+                    continue;
+                }
+                lote.add(registro.datos());
+                lineas.add(registro.linea());
+                if (lote.size() == tamanoLote) {
+                    guardarLote(lote, lineas, contadores, reporte);
+                }
+            }
+            if (!lote.isEmpty()) {
+                guardarLote(lote, lineas, contadores, reporte);
+            }
+            escribir(reporte, contadores.avance("FIN"));
+        }
+    }
+
+    private void guardarLote(List<DatosRegistroTopico> lote, List<Long> lineas, Contadores contadores,
+                             JsonGenerator reporte) throws IOException {
+        List<DatosResultadoLoteTopico> resultados;
+        try {
+            resultados = loteTopicosService.registrar(lote);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo guardar el lote de la importación que empieza en la línea {}", lineas.get(0), e);
+            List<String> errores = List.of("No se pudo guardar el lote; el registro no se importó.");
+            for (Long linea : lineas) {
+                contadores.procesados++;
+                contadores.fallidos++;
+                escribir(reporte, DatosReporteImportacion.error(linea,
+                        DatosResultadoLoteTopico.Resultado.FALLIDO, errores, contadores.avance("ERROR")));
+            }
+            escribir(reporte, contadores.avance("AVANCE"));
+            reporte.flush();
+            lote.clear();
+            lineas.clear();
+            return;
+        }
+
+        for (DatosResultadoLoteTopico resultado : resultados) {
+            contadores.procesados++;
+            switch (resultado.resultado()) {
+                case CREADO -> contadores.creados++;
+                case DUPLICADO -> contadores.duplicados++;
+                case INVALIDO -> contadores.invalidos++;
+                case FALLIDO -> contadores.fallidos++;
+            }
+            if (resultado.resultado() != DatosResultadoLoteTopico.Resultado.CREADO) {
+                escribir(reporte, DatosReporteImportacion.error(lineas.get(resultado.indice()),
+                        resultado.resultado(), resultado.errores(), contadores.avance("ERROR")));
+            }
+        }
+        escribir(reporte, contadores.avance("AVANCE"));
+        reporte.flush();
+
+        lote.clear();
+        lineas.clear();
+    }
+
+    private static void escribir(JsonGenerator reporte, DatosReporteImportacion linea) throws IOException {
+        reporte.writeObject(linea);
+        reporte.writeRaw('\n');
+    }
+
+    private static class Contadores {
+        long procesados;
+        long creados;
+        long duplicados;
+        long invalidos;
+        long fallidos;
+
+        DatosReporteImportacion avance(String tipo) {
+            return DatosReporteImportacion.avance(tipo, procesados, creados, duplicados, invalidos, fallidos);
+        }
+    }
+}
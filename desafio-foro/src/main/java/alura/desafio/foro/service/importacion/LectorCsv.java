@@ -0,0 +1,151 @@
+package alura.desafio.foro.service.importacion;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.infra.exception.SolicitudInvalidaException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV (RFC 4180) con cabecera: separador coma, campos opcionalmente entre comillas, comillas
+ * escapadas como "" y saltos de línea permitidos dentro de un campo entre comillas. Se ignora un BOM
+ * de UTF-8 al comienzo (Excel lo agrega al guardar como "CSV UTF-8").
+ */
+public class LectorCsv implements LectorRegistros {
+
+    private static final List<String> COLUMNAS = List.of("titulo", "mensaje", "autor", "curso");
+
+    private final BufferedReader entrada;
+    private final int maxCaracteres;
+    private final int[] posicionColumna = new int[COLUMNAS.size()];
+    private long linea = 1;
+    private boolean fin;
+
+    public LectorCsv(BufferedReader entrada, int maxCaracteres) throws IOException {
+        this.entrada = entrada;
+        this.maxCaracteres = maxCaracteres;
+
+        entrada.mark(1);
+        if (entrada.read() != '\uFEFF') {
+            entrada.reset();
+        }
+        List<String> cabecera = leerCampos();
+        if (cabecera == null) {
+            throw new SolicitudInvalidaException("El archivo CSV está vacío.");
+        }
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < cabecera.size(); i++) {
+            indices.putIfAbsent(cabecera.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (int i = 0; i < COLUMNAS.size(); i++) {
+            Integer indice = indices.get(COLUMNAS.get(i));
+            if (indice == null) {
+                throw new SolicitudInvalidaException("Falta la columna '" + COLUMNAS.get(i) + "' en la cabecera del CSV.");
+            }
+            posicionColumna[i] = indice;
+        }
+    }
+
+    @Override
+    public RegistroLeido siguiente() throws IOException {
+        while (true) {
+            long lineaInicio = linea;
+            List<String> campos;
+            try {
+                campos = leerCampos();
+            } catch (RegistroDemasiadoLargoException e) {
+                return new RegistroLeido(lineaInicio, null, "El registro supera los " + maxCaracteres + " caracteres.");
+            }
+            if (campos == null) {
+                return null;
+            }
+            if (campos.size() == 1 && campos.get(0).isBlank()) {
+                continue;
+            }
+            return new RegistroLeido(lineaInicio, new DatosRegistroTopico(
+                    campo(campos, 0), campo(campos, 1), campo(campos, 2), campo(campos, 3)), null);
+        }
+    }
+
+    private String campo(List<String> campos, int columna) {
+        int indice = posicionColumna[columna];
+        return indice < campos.size() ? campos.get(indice) : null;
+    }
+
+    private List<String> leerCampos() throws IOException {
+        if (fin) {
+            return null;
+        }
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        boolean demasiadoLargo = false;
+        int leidos = 0;
+
+        while (true) {
+            int c = entrada.read();
+            if (c == -1) {
+                fin = true;
+                if (leidos == 0) {
+                    return null;
+                }
+                break;
+            }
+            leidos++;
+            if (c == '\n') {
+                linea++;
+            }
+            if (leidos > maxCaracteres) {
+                demasiadoLargo = true;
+            }
+
+            if (entreComillas) {
+                if (c == '"') {
+                    entrada.mark(1);
+                    int siguiente = entrada.read();
+                    if (siguiente == '"') {
+                        // El escape son dos caracteres de la entrada y pasa por el mismo límite que el resto.
+                        leidos++;
+                        if (leidos > maxCaracteres) {
+                            demasiadoLargo = true;
+                        } else {
+                            campo.append('"');
+                        }
+                    } else {
+                        entreComillas = false;
+                        if (siguiente != -1) {
+                            entrada.reset();
+                        }
+                    }
+                } else if (!demasiadoLargo) {
+                    campo.append((char) c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                if (!demasiadoLargo) {
+                    campos.add(campo.toString());
+                }
+                campo.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r' && !demasiadoLargo) {
+                campo.append((char) c);
+            }
+        }
+
+        if (demasiadoLargo) {
+            throw new RegistroDemasiadoLargoException();
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private static class RegistroDemasiadoLargoException extends IOException {
+    }
+}
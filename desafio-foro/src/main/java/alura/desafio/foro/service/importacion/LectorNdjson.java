@@ -0,0 +1,61 @@
+package alura.desafio.foro.service.importacion;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+// Un objeto JSON por línea; las líneas en blanco se ignoran. Igual que en LectorCsv, se ignora un BOM de UTF-8 al comienzo.
+public class LectorNdjson implements LectorRegistros {
+
+    private final BufferedReader entrada;
+    private final ObjectMapper objectMapper;
+    private final int maxCaracteres;
+    private long linea;
+
+    public LectorNdjson(BufferedReader entrada, ObjectMapper objectMapper, int maxCaracteres) throws IOException {
+        this.entrada = entrada;
+        this.objectMapper = objectMapper;
+        this.maxCaracteres = maxCaracteres;
+
+        entrada.mark(1);
+        if (entrada.read() != '\uFEFF') {
+            entrada.reset();
+        }
+    }
+
+    @Override
+    public RegistroLeido siguiente() throws IOException {
+        StringBuilder texto = new StringBuilder();
+        while (true) {
+            texto.setLength(0);
+            boolean demasiadoLargo = false;
+            int c;
+            while ((c = entrada.read()) != -1 && c != '\n') {
+                if (texto.length() < maxCaracteres) {
+                    texto.append((char) c);
+                } else {
+                    demasiadoLargo = true;
+                }
+            }
+            if (c == -1 && texto.isEmpty()) {
+                return null;
+            }
+            linea++;
+
+            if (demasiadoLargo) {
+                return new RegistroLeido(linea, null, "La línea supera los " + maxCaracteres + " caracteres.");
+            }
+            if (texto.toString().isBlank()) {
+                continue;
+            }
+            try {
+                return new RegistroLeido(linea, objectMapper.readValue(texto.toString(), DatosRegistroTopico.class), null);
+            } catch (JsonProcessingException e) {
+                return new RegistroLeido(linea, null, "JSON mal formado: " + e.getOriginalMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package alura.desafio.foro.service.importacion;
+
+import java.io.IOException;
+
+public interface LectorRegistros {
+
+    // Devuelve null al llegar al final de la entrada.
+    RegistroLeido siguiente() throws IOException;
+}
@@ -0,0 +1,11 @@
+package alura.desafio.foro.service.importacion;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+
+// Un registro del archivo: los datos leídos o, si no se pudo interpretar, el motivo.
+public record RegistroLeido(
+        long linea,
+        DatosRegistroTopico datos,
+        String error
+) {
+}
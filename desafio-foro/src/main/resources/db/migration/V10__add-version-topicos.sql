@@ -0,0 +1,2 @@
+-- Versión para el control optimista de PUT /topicos/{id} (If-Match / ETag); los tópicos existentes empiezan en 0.
+ALTER TABLE topicos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
\ No newline at end of file
@@ -0,0 +1,4 @@
+-- Última secuencia asignada en el feed de tópicos. RelayFeedTopicos bloquea esta fila (SELECT ... FOR UPDATE)
+-- mientras numera el outbox, así solo una instancia asigna secuencias a la vez.
+INSERT INTO generador_ids (entidad, siguiente_valor)
+SELECT 'eventos_topicos_secuencia', COALESCE(MAX(secuencia), 0) FROM eventos_topicos;
\ No newline at end of file
@@ -0,0 +1,6 @@
+-- Orden en que el relay numera los pendientes. Los ids salen de bloques de 50 reservados por cada instancia
+-- (generador_ids), así que entre instancias no siguen el orden de inserción; esta columna la pone el primario
+-- al insertar, con un solo reloj para todas. Hibernate no la incluye en el INSERT.
+ALTER TABLE eventos_topicos ADD COLUMN fecha_registro TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+
+CREATE INDEX idx_eventos_topicos_pendientes ON eventos_topicos (secuencia, fecha_registro, id);
\ No newline at end of file
@@ -0,0 +1 @@
+CREATE INDEX idx_topicos_fecha_creacion_id ON topicos (fecha_creacion, id);
\ No newline at end of file
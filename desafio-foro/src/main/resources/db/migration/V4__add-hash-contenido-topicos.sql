@@ -0,0 +1,10 @@
+-- Admite NULL: el índice único permite varios NULL y Topico siempre lo calcula al crear o editar, así que no
+-- hace falta un MODIFY ... NOT NULL, que en MySQL reconstruye la tabla.
+ALTER TABLE topicos ADD COLUMN hash_contenido CHAR(64) CHARACTER SET ascii NULL;
+
+-- Mismo cálculo que Topico.calcularHashContenido: SHA-256 de titulo + '\0' + mensaje en UTF-8. CONVERT pasa cada
+-- columna a utf8mb4 sea cual sea su juego de caracteres, para que los bytes coincidan con los de Java.
+UPDATE topicos SET hash_contenido = SHA2(CONCAT(CONVERT(titulo USING utf8mb4), CHAR(0 USING utf8mb4), CONVERT(mensaje USING utf8mb4)), 256);
+
+ALTER TABLE topicos DROP INDEX unique_titulo_mensaje;
+CREATE UNIQUE INDEX uk_topicos_hash_contenido ON topicos (hash_contenido);
\ No newline at end of file
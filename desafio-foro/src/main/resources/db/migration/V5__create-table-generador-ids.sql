@@ -0,0 +1,10 @@
+CREATE TABLE generador_ids (
+    entidad VARCHAR(50) NOT NULL,
+    siguiente_valor BIGINT NOT NULL,
+    PRIMARY KEY (entidad)
+);
+
+-- Con allocationSize = 50 Hibernate reparte el bloque (siguiente_valor - 49 .. siguiente_valor),
+-- así que se arranca 50 por encima del último id asignado por AUTO_INCREMENT.
+INSERT INTO generador_ids (entidad, siguiente_valor)
+SELECT 'topicos', COALESCE(MAX(id), 0) + 50 FROM topicos;
\ No newline at end of file
@@ -0,0 +1,16 @@
+-- Outbox de cambios sobre tópicos: se escribe en la misma transacción que el cambio y el relay
+-- le asigna 'secuencia' al publicarlo en GET /topicos/feed (NULL = pendiente de publicar).
+CREATE TABLE eventos_topicos (
+    id BIGINT NOT NULL,
+    tipo VARCHAR(20) NOT NULL,
+    topico_id BIGINT NOT NULL,
+    datos TEXT NOT NULL,
+    fecha_creacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    secuencia BIGINT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX uk_eventos_topicos_secuencia ON eventos_topicos (secuencia);
+CREATE INDEX idx_eventos_topicos_fecha_creacion ON eventos_topicos (fecha_creacion);
+
+INSERT INTO generador_ids (entidad, siguiente_valor) VALUES ('eventos_topicos', 50);
\ No newline at end of file
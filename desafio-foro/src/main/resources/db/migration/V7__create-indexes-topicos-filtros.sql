@@ -0,0 +1,5 @@
+-- Filtros de GET /topicos: igualdad sobre curso, autor o status y luego rango y orden por fecha_creacion.
+-- Con (fecha_creacion, id) al final, el COUNT(*) de la página y el orden se resuelven dentro del índice.
+CREATE INDEX idx_topicos_curso_fecha_creacion ON topicos (curso, fecha_creacion, id);
+CREATE INDEX idx_topicos_autor_fecha_creacion ON topicos (autor, fecha_creacion, id);
+CREATE INDEX idx_topicos_status_fecha_creacion ON topicos (status, fecha_creacion, id);
\ No newline at end of file
@@ -0,0 +1,13 @@
+-- Baja lógica: un tópico eliminado queda con status 'ELIMINADO' y sin hash (la columna admite NULL desde V4), así
+-- el índice único uk_topicos_hash_contenido permite volver a publicar el mismo contenido.
+
+-- Hibernate agrega status <> 'ELIMINADO' a cada consulta por @SQLRestriction en Topico. Con status al final de los
+-- índices de V7 y del de V3, los ids de la página y el COUNT(*) del listado siguen saliendo solo del índice.
+ALTER TABLE topicos DROP INDEX idx_topicos_curso_fecha_creacion;
+CREATE INDEX idx_topicos_curso_fecha_creacion ON topicos (curso, fecha_creacion, id, status);
+ALTER TABLE topicos DROP INDEX idx_topicos_autor_fecha_creacion;
+CREATE INDEX idx_topicos_autor_fecha_creacion ON topicos (autor, fecha_creacion, id, status);
+
+-- Solo rango de fechas (y el listado por cursor): el índice de V3 más status, con el mismo nombre.
+ALTER TABLE topicos DROP INDEX idx_topicos_fecha_creacion_id;
+CREATE INDEX idx_topicos_fecha_creacion_id ON topicos (fecha_creacion, id, status);
\ No newline at end of file
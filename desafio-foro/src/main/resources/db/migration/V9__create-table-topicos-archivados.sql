@@ -0,0 +1,12 @@
+-- Tópicos eliminados o antiguos que ArchivoTopicosService saca de la tabla topicos.
+CREATE TABLE topicos_archivados (
+    id BIGINT NOT NULL,
+    titulo VARCHAR(255) NOT NULL,
+    mensaje TEXT NOT NULL,
+    fecha_creacion TIMESTAMP NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    autor VARCHAR(255) NOT NULL,
+    curso VARCHAR(255) NOT NULL,
+    fecha_archivo TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id)
+);
\ No newline at end of file
@@ -1,11 +1,26 @@
 package alura.desafio.foro;
 
+import alura.desafio.foro.carga.MigracionesH2;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+// Con H2 en modo MySQL (perfil carga) en lugar del MySQL de application.properties, para que corra sin servidor.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:context_loads;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("carga")
 class DesafioForoApplicationTests {
 
+	@TestConfiguration
+	static class MigracionesEnH2 {
+		@Bean
+		FlywayConfigurationCustomizer migracionesH2() {
+			return configuracion -> configuracion.resourceProvider(new MigracionesH2());
+		}
+	}
+
 	@Test
 	void contextLoads() {
 	}
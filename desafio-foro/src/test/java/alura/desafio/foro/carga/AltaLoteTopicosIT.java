@@ -0,0 +1,139 @@
+package alura.desafio.foro.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput del alta de tópicos de a uno (POST /topicos) contra el alta por lotes (POST /topicos/lote), con un solo
+ * cliente y H2 en modo MySQL. Se ejecuta con el perfil Maven "carga" y deja el reporte en target/alta-lote-reporte.txt:
+ * ./mvnw -Pcarga verify -Dcarga.alta.topicos=5000 -Dcarga.alta.tamano-lote=500
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:alta_lote;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("carga")
+class AltaLoteTopicosIT {
+
+    @TestConfiguration
+    static class MigracionesEnH2 {
+        @Bean
+        FlywayConfigurationCustomizer migracionesH2() {
+            return configuracion -> configuracion.resourceProvider(new MigracionesH2());
+        }
+    }
+
+    private final int topicos = Integer.getInteger("carga.alta.topicos", 2000);
+    private final int tamanoLote = Integer.getInteger("carga.alta.tamano-lote", 500);
+    private final int calentamiento = Integer.getInteger("carga.alta.calentamiento", 1000);
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void altaPorLotesContraAltaDeAUno() throws Exception {
+        String token = token();
+
+        // Calentamiento de los dos caminos (JIT, pool, generador de ids) antes de medir.
+        deAUno(token, "calentamiento-uno", calentamiento / 10);
+        porLotes(token, "calentamiento-lote", calentamiento);
+
+        long inicio = System.nanoTime();
+        deAUno(token, "uno", topicos);
+        double segundosDeAUno = (System.nanoTime() - inicio) / 1e9;
+
+        inicio = System.nanoTime();
+        porLotes(token, "lote", topicos);
+        double segundosPorLotes = (System.nanoTime() - inicio) / 1e9;
+
+        String reporte = String.format("Alta de %d tópicos, 1 cliente, H2 en modo MySQL%n", topicos)
+                + String.format("%-28s %9s %12s%n", "camino", "segundos", "tópicos/s")
+                + String.format("%-28s %9.2f %12.1f%n", "POST /topicos", segundosDeAUno, topicos / segundosDeAUno)
+                + String.format("%-28s %9.2f %12.1f%n", "POST /topicos/lote (" + tamanoLote + ")", segundosPorLotes,
+                topicos / segundosPorLotes)
+                + String.format("Relación: %.1fx%n", segundosDeAUno / segundosPorLotes);
+        System.out.println(reporte);
+        Files.writeString(Path.of("target", "alta-lote-reporte.txt"), reporte);
+    }
+
+    private void deAUno(String token, String prefijo, int cantidad) throws Exception {
+        for (int i = 0; i < cantidad; i++) {
+            HttpResponse<String> respuesta = http.send(autenticada("/topicos", token).POST(json(topico(prefijo, i))).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, respuesta.statusCode(), respuesta.body());
+        }
+    }
+
+    private void porLotes(String token, String prefijo, int cantidad) throws Exception {
+        for (int desde = 0; desde < cantidad; desde += tamanoLote) {
+            List<Map<String, String>> lote = new ArrayList<>();
+            for (int i = desde; i < Math.min(desde + tamanoLote, cantidad); i++) {
+                lote.add(topico(prefijo, i));
+            }
+            HttpResponse<String> respuesta = http.send(autenticada("/topicos/lote", token).POST(json(lote)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, respuesta.statusCode(), respuesta.body());
+            for (JsonNode resultado : objectMapper.readTree(respuesta.body())) {
+                assertEquals("CREADO", resultado.get("resultado").asText(), resultado::toString);
+            }
+        }
+    }
+
+    private static Map<String, String> topico(String prefijo, int i) {
+        return Map.of(
+                "titulo", "Tópico " + prefijo + " " + i,
+                "mensaje", "Mensaje " + prefijo + " " + i + " para medir el alta",
+                "autor", "Autor " + (i % 20),
+                "curso", "Curso " + (i % 5));
+    }
+
+    private String token() throws Exception {
+        Map<String, String> usuario = Map.of("nombre", "Usuario de alta", "email", "alta@example.com", "contrasena", "clave_de_alta");
+        HttpResponse<String> registro = http.send(HttpRequest.newBuilder(uri("/usuarios"))
+                .header("Content-Type", "application/json").POST(json(usuario)).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, registro.statusCode(), registro.body());
+        HttpResponse<String> login = http.send(HttpRequest.newBuilder(uri("/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(json(Map.of("email", usuario.get("email"), "contrasena", usuario.get("contrasena")))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, login.statusCode(), login.body());
+        return objectMapper.readTree(login.body()).get("token").asText();
+    }
+
+    private HttpRequest.Builder autenticada(String ruta, String token) {
+        return HttpRequest.newBuilder(uri(ruta))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object cuerpo) throws Exception {
+        return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(cuerpo));
+    }
+
+    private URI uri(String ruta) {
+        return URI.create("http://localhost:" + puerto + ruta);
+    }
+}
@@ -0,0 +1,350 @@
+package alura.desafio.foro.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carga mixta (login, alta, listado completo y resumido, detalle, edición y baja) sobre la aplicación completa, con H2 en
+ * modo MySQL y las migraciones de Flyway. Se ejecuta con el perfil Maven "carga":
+ * ./mvnw -Pcarga verify -Dcarga.hilos=16 -Dcarga.duracion-segundos=60
+ * El reporte (throughput e histograma de latencias por endpoint) queda en target/carga-reporte.txt y las
+ * métricas del servidor al terminar (/actuator/prometheus) en target/carga-prometheus.txt.
+ * Para comparar contra hilos virtuales se repite la misma corrida con JDK 21 y -Dspring.threads.virtual.enabled=true;
+ * el encabezado del reporte indica con qué hilos atendió el servidor.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+// Las métricas quedan activas como en producción: su costo es parte de la latencia medida.
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("carga")
+class CargaTopicosIT {
+
+    enum Operacion { LOGIN, CREAR, LISTAR, RESUMEN, OBTENER, ACTUALIZAR, ELIMINAR }
+
+    @TestConfiguration
+    static class MigracionesEnH2 {
+        @Bean
+        FlywayConfigurationCustomizer migracionesH2() {
+            return configuracion -> configuracion.resourceProvider(new MigracionesH2());
+        }
+    }
+
+    private static final String CONTRASENA = "clave_de_carga";
+
+    private final int hilos = Integer.getInteger("carga.hilos", 8);
+    private final int usuarios = Integer.getInteger("carga.usuarios", 4);
+    private final int calentamientoSegundos = Integer.getInteger("carga.calentamiento-segundos", 5);
+    private final int duracionSegundos = Integer.getInteger("carga.duracion-segundos", 20);
+    private final int topicosIniciales = Integer.getInteger("carga.topicos-iniciales", 1000);
+    private final long semilla = Long.getLong("carga.semilla", 42L);
+    private final String mezcla = System.getProperty("carga.mezcla",
+            "login:2,crear:15,listar:20,resumen:10,obtener:35,actualizar:10,eliminar:8");
+    // 0 = sin límite; si se define, la prueba falla cuando el p99 de algún endpoint lo supera
+    private final double p99MaximoMs = Double.parseDouble(System.getProperty("carga.p99-maximo-ms", "0"));
+
+    @LocalServerPort
+    private int puerto;
+
+    @LocalManagementPort
+    private int puertoGestion;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment entorno;
+
+    private HttpClient http;
+
+    private final Map<Operacion, HistogramaLatencias> latencias = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, LongAdder> noEncontrados = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, LongAdder> rechazados = new EnumMap<>(Operacion.class);
+    private final Map<Operacion, LongAdder> errores = new EnumMap<>(Operacion.class);
+    private final Queue<String> muestrasDeError = new ConcurrentLinkedQueue<>();
+
+    // Ids conocidos (sembrados o creados) para GET y PUT; los más viejos se van pisando.
+    private final AtomicLongArray idsRecientes = new AtomicLongArray(4096);
+    private final AtomicLong posicionIds = new AtomicLong();
+
+    @Test
+    void cargaMixtaSobreLaApi() throws Exception {
+        for (Operacion operacion : Operacion.values()) {
+            latencias.put(operacion, new HistogramaLatencias());
+            noEncontrados.put(operacion, new LongAdder());
+            rechazados.put(operacion, new LongAdder());
+            errores.put(operacion, new LongAdder());
+        }
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < usuarios; i++) {
+            emails.add(registrarUsuario(i));
+        }
+        sembrar(loginInicial(emails.get(0)));
+
+        Operacion[] ruleta = armarRuleta(mezcla);
+        long finCalentamiento = System.nanoTime() + TimeUnit.SECONDS.toNanos(calentamientoSegundos);
+        long fin = finCalentamiento + TimeUnit.SECONDS.toNanos(duracionSegundos);
+
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        List<Future<?>> trabajos = new ArrayList<>();
+        for (int i = 0; i < hilos; i++) {
+            int hilo = i;
+            trabajos.add(pool.submit(() -> {
+                trabajar(hilo, emails.get(hilo % emails.size()), ruleta, finCalentamiento, fin);
+                return null;
+            }));
+        }
+        for (Future<?> trabajo : trabajos) {
+            trabajo.get();
+        }
+        pool.shutdown();
+
+        String reporte = reporte();
+        System.out.println(reporte);
+        Files.writeString(Path.of("target", "carga-reporte.txt"), reporte);
+        Files.writeString(Path.of("target", "carga-prometheus.txt"), http.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + puertoGestion + "/actuator/prometheus")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body());
+
+        long totalErrores = errores.values().stream().mapToLong(LongAdder::sum).sum();
+        assertEquals(0, totalErrores, "Respuestas con error inesperado: " + muestrasDeError);
+        if (p99MaximoMs > 0) {
+            latencias.forEach((operacion, histograma) -> assertTrue(histograma.percentilMs(99) <= p99MaximoMs,
+                    operacion + ": p99 " + histograma.percentilMs(99) + " ms supera " + p99MaximoMs + " ms"));
+        }
+    }
+
+    private void trabajar(int hilo, String email, Operacion[] ruleta, long finCalentamiento, long fin) throws Exception {
+        SplittableRandom random = new SplittableRandom(semilla + hilo);
+        Deque<Long> creados = new ArrayDeque<>();
+        String token = loginInicial(email);
+        long secuencia = 0;
+
+        long ahora;
+        while ((ahora = System.nanoTime()) < fin) {
+            boolean medir = ahora >= finCalentamiento;
+            Operacion operacion = ruleta[random.nextInt(ruleta.length)];
+            long id = idAleatorio(random);
+            if (operacion == Operacion.ELIMINAR && creados.isEmpty()) {
+                operacion = Operacion.CREAR;
+            } else if ((operacion == Operacion.OBTENER || operacion == Operacion.ACTUALIZAR) && id < 0) {
+                operacion = Operacion.LISTAR;
+            }
+
+            switch (operacion) {
+                case LOGIN -> token = login(email, medir, token);
+                case CREAR -> {
+                    String unico = hilo + "-" + secuencia++ + "-" + ahora;
+                    HttpResponse<String> respuesta = ejecutar(Operacion.CREAR, medir, autenticada("/topicos", token)
+                            .POST(json(Map.of(
+                                    "titulo", "Tópico de carga " + unico,
+                                    "mensaje", "Mensaje generado por la prueba de carga " + unico,
+                                    "autor", email,
+                                    "curso", "Curso " + random.nextInt(5))))
+                            .build());
+                    respuesta.headers().firstValue("Location").ifPresent(location -> {
+                        long nuevo = Long.parseLong(location.substring(location.lastIndexOf('/') + 1));
+                        creados.addLast(nuevo);
+                        registrarId(nuevo);
+                    });
+                }
+                case LISTAR -> ejecutar(Operacion.LISTAR, medir,
+                        autenticada("/topicos?size=10&page=" + random.nextInt(10), token).GET().build());
+                case RESUMEN -> ejecutar(Operacion.RESUMEN, medir,
+                        autenticada("/topicos/resumen?size=10&page=" + random.nextInt(10), token).GET().build());
+                case OBTENER -> ejecutar(Operacion.OBTENER, medir,
+                        autenticada("/topicos/" + id, token).GET().build());
+                case ACTUALIZAR -> ejecutar(Operacion.ACTUALIZAR, medir, autenticada("/topicos/" + id, token)
+                        .PUT(json(Map.of("titulo", "Tópico editado " + hilo + "-" + secuencia++ + "-" + ahora)))
+                        .build());
+                case ELIMINAR -> ejecutar(Operacion.ELIMINAR, medir,
+                        autenticada("/topicos/" + creados.pollLast(), token).DELETE().build());
+            }
+        }
+    }
+
+    private HttpResponse<String> ejecutar(Operacion operacion, boolean medir, HttpRequest request) throws Exception {
+        long inicio = System.nanoTime();
+        HttpResponse<String> respuesta = http.send(request, HttpResponse.BodyHandlers.ofString());
+        long duracion = System.nanoTime() - inicio;
+        if (!medir) {
+            return respuesta;
+        }
+
+        latencias.get(operacion).registrar(duracion);
+        int status = respuesta.statusCode();
+        if (status == 404 && (operacion == Operacion.OBTENER || operacion == Operacion.ACTUALIZAR)) {
+            // Otro hilo eliminó el tópico entre que se eligió el id y el request: es parte de la carga.
+            noEncontrados.get(operacion).increment();
+        } else if (status == 503) {
+            rechazados.get(operacion).increment();
+        } else if (status >= 400) {
+            errores.get(operacion).increment();
+            if (muestrasDeError.size() < 10) {
+                muestrasDeError.add(operacion + " " + status + " " + respuesta.body());
+            }
+        }
+        return respuesta;
+    }
+
+    private String registrarUsuario(int indice) throws Exception {
+        String email = "carga" + indice + "@example.com";
+        HttpResponse<String> respuesta = http.send(HttpRequest.newBuilder(uri("/usuarios"))
+                        .header("Content-Type", "application/json")
+                        .POST(json(Map.of("nombre", "Usuario de carga " + indice, "email", email, "contrasena", CONTRASENA)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, respuesta.statusCode(), respuesta.body());
+        return email;
+    }
+
+    // Si el login es rechazado (503 por cola llena) se sigue con el token anterior.
+    private String login(String email, boolean medir, String tokenActual) throws Exception {
+        HttpResponse<String> respuesta = ejecutar(Operacion.LOGIN, medir, HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/json")
+                .POST(json(Map.of("email", email, "contrasena", CONTRASENA)))
+                .build());
+        if (respuesta.statusCode() != 200) {
+            return tokenActual;
+        }
+        return objectMapper.readTree(respuesta.body()).get("token").asText();
+    }
+
+    // Todos los hilos hacen login a la vez al arrancar: se respeta el Retry-After hasta obtener un token.
+    private String loginInicial(String email) throws Exception {
+        for (int intento = 0; intento < 30; intento++) {
+            String token = login(email, false, null);
+            if (token != null) {
+                return token;
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException("No se pudo iniciar sesión con " + email);
+    }
+
+    // Carga inicial por POST /topicos/lote para que listado y detalle tengan datos desde el principio.
+    private void sembrar(String token) throws Exception {
+        for (int desde = 0; desde < topicosIniciales; desde += 500) {
+            List<Map<String, String>> lote = new ArrayList<>();
+            for (int i = desde; i < Math.min(desde + 500, topicosIniciales); i++) {
+                lote.add(Map.of(
+                        "titulo", "Tópico inicial " + i,
+                        "mensaje", "Mensaje inicial " + i + " para la prueba de carga",
+                        "autor", "Autor " + (i % 20),
+                        "curso", "Curso " + (i % 5)));
+            }
+            HttpResponse<String> respuesta = http.send(autenticada("/topicos/lote", token).POST(json(lote)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, respuesta.statusCode(), respuesta.body());
+            for (JsonNode resultado : objectMapper.readTree(respuesta.body())) {
+                if (resultado.hasNonNull("id")) {
+                    registrarId(resultado.get("id").asLong());
+                }
+            }
+        }
+    }
+
+    private void registrarId(long id) {
+        idsRecientes.set((int) (posicionIds.getAndIncrement() % idsRecientes.length()), id);
+    }
+
+    private long idAleatorio(SplittableRandom random) {
+        int conocidos = (int) Math.min(posicionIds.get(), idsRecientes.length());
+        return conocidos == 0 ? -1 : idsRecientes.get(random.nextInt(conocidos));
+    }
+
+    private static Operacion[] armarRuleta(String mezcla) {
+        List<Operacion> ruleta = new ArrayList<>();
+        for (String parte : mezcla.split(",")) {
+            String[] pesoPorOperacion = parte.trim().split(":");
+            Operacion operacion = Operacion.valueOf(pesoPorOperacion[0].trim().toUpperCase());
+            for (int i = 0; i < Integer.parseInt(pesoPorOperacion[1].trim()); i++) {
+                ruleta.add(operacion);
+            }
+        }
+        return ruleta.toArray(Operacion[]::new);
+    }
+
+    private String reporte() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Carga: %d hilos, %d usuarios, %d s medidos (+%d s de calentamiento), mezcla %s%n",
+                hilos, usuarios, duracionSegundos, calentamientoSegundos, mezcla));
+        sb.append(String.format("Servidor: Java %s, hilos %s, pool de conexiones %s (espera máxima %s ms)%n",
+                Runtime.version().feature(), Threading.VIRTUAL.isActive(entorno) ? "virtuales" : "de plataforma",
+                entorno.getProperty("spring.datasource.hikari.maximum-pool-size", "10"),
+                entorno.getProperty("spring.datasource.hikari.connection-timeout", "30000")));
+        long total = latencias.values().stream().mapToLong(HistogramaLatencias::total).sum();
+        sb.append(String.format("Total: %d requests, %.1f req/s%n%n", total, total / (double) duracionSegundos));
+        sb.append(String.format("%-11s %9s %9s %8s %8s %8s %8s %9s %6s %6s %7s%n",
+                "endpoint", "requests", "req/s", "prom ms", "p50 ms", "p90 ms", "p99 ms", "max ms", "404", "503", "errores"));
+        latencias.forEach((operacion, histograma) -> sb.append(String.format(
+                "%-11s %9d %9.1f %8.2f %8.2f %8.2f %8.2f %9.2f %6d %6d %7d%n",
+                operacion, histograma.total(), histograma.total() / (double) duracionSegundos,
+                histograma.promedioMs(), histograma.percentilMs(50), histograma.percentilMs(90),
+                histograma.percentilMs(99), histograma.maximoMs(), noEncontrados.get(operacion).sum(),
+                rechazados.get(operacion).sum(), errores.get(operacion).sum())));
+        sb.append(String.format("%nHistograma de latencias por endpoint:%n"));
+        latencias.forEach((operacion, histograma) -> {
+            if (histograma.total() > 0) {
+                sb.append("  ").append(operacion).append(System.lineSeparator()).append(histograma.distribucion());
+            }
+        });
+        return sb.toString();
+    }
+
+    private HttpRequest.Builder autenticada(String ruta, String token) {
+        return HttpRequest.newBuilder(uri(ruta))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object cuerpo) throws Exception {
+        return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(cuerpo));
+    }
+
+    private URI uri(String ruta) {
+        return URI.create("http://localhost:" + puerto + ruta);
+    }
+}
@@ -0,0 +1,99 @@
+package alura.desafio.foro.carga;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubetas logarítmicas (4 por cada potencia de 2, ~19% de error relativo)
+ * desde 1 µs hasta ~70 s. Thread-safe y sin locks: varios hilos de carga registran a la vez.
+ */
+class HistogramaLatencias {
+
+    private static final int CUBETAS_POR_OCTAVA = 4;
+    private static final int CUBETAS = 26 * CUBETAS_POR_OCTAVA;
+
+    // Cortes del resumen que se imprime por endpoint, en ms
+    private static final double[] RANGOS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000};
+
+    private final AtomicLongArray conteos = new AtomicLongArray(CUBETAS);
+    private final AtomicLongArray conteosPorRango = new AtomicLongArray(RANGOS_MS.length + 1);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sumaMicros = new LongAdder();
+    private final LongAccumulator maximoMicros = new LongAccumulator(Long::max, 0);
+
+    void registrar(long nanos) {
+        long micros = Math.max(1, nanos / 1_000);
+        conteos.incrementAndGet(cubeta(micros));
+        conteosPorRango.incrementAndGet(rango(micros / 1000.0));
+        total.increment();
+        sumaMicros.add(micros);
+        maximoMicros.accumulate(micros);
+    }
+
+    long total() {
+        return total.sum();
+    }
+
+    double promedioMs() {
+        long n = total.sum();
+        return n == 0 ? 0 : sumaMicros.sum() / 1000.0 / n;
+    }
+
+    double maximoMs() {
+        return maximoMicros.get() / 1000.0;
+    }
+
+    /** Cota superior (en ms) de la cubeta donde cae el percentil pedido. */
+    double percentilMs(double percentil) {
+        long n = total.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long objetivo = (long) Math.ceil(n * percentil / 100.0);
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += conteos.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperiorMicros(i), maximoMicros.get()) / 1000.0;
+            }
+        }
+        return maximoMs();
+    }
+
+    /** Distribución por rangos fijos, una línea por rango con al menos una muestra. */
+    String distribucion() {
+        long n = total.sum();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= RANGOS_MS.length; i++) {
+            long conteo = conteosPorRango.get(i);
+            if (conteo == 0) {
+                continue;
+            }
+            String etiqueta = i < RANGOS_MS.length
+                    ? String.format("< %5.0f ms", RANGOS_MS[i])
+                    : String.format(">= %4.0f ms", RANGOS_MS[RANGOS_MS.length - 1]);
+            int barra = (int) Math.round(40.0 * conteo / n);
+            sb.append(String.format("    %s %8d %6.2f%% %s%n", etiqueta, conteo, 100.0 * conteo / n, "#".repeat(barra)));
+        }
+        return sb.toString();
+    }
+
+    private static int cubeta(long micros) {
+        double indice = Math.log(micros) / Math.log(2) * CUBETAS_POR_OCTAVA;
+        return (int) Math.min(CUBETAS - 1, Math.floor(indice));
+    }
+
+    private static long limiteSuperiorMicros(int cubeta) {
+        return (long) Math.ceil(Math.pow(2, (cubeta + 1) / (double) CUBETAS_POR_OCTAVA));
+    }
+
+    private static int rango(double ms) {
+        for (int i = 0; i < RANGOS_MS.length; i++) {
+            if (ms < RANGOS_MS[i]) {
+                return i;
+            }
+        }
+        return RANGOS_MS.length;
+    }
+}
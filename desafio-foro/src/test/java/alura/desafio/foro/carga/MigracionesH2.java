@@ -0,0 +1,96 @@
+package alura.desafio.foro.carga;
+
+import org.flywaydb.core.api.ResourceProvider;
+import org.flywaydb.core.api.resource.LoadableResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Entrega a Flyway los scripts de db/migration tal cual, salvo los que tienen una versión con el mismo
+ * nombre en db/h2 porque usan sintaxis propia de MySQL. Así las pruebas contra H2 recorren las mismas
+ * migraciones (y en el mismo orden) que producción.
+ */
+public class MigracionesH2 implements ResourceProvider {
+
+    private final Map<String, LoadableResource> scripts = new TreeMap<>();
+
+    public MigracionesH2() {
+        cargar("classpath*:db/migration/*.sql");
+        cargar("classpath*:db/h2/*.sql");
+    }
+
+    @Override
+    public LoadableResource getResource(String name) {
+        return scripts.get(name.substring(name.lastIndexOf('/') + 1));
+    }
+
+    @Override
+    public Collection<LoadableResource> getResources(String prefix, String[] suffixes) {
+        return scripts.values().stream()
+                .filter(script -> script.getFilename().startsWith(prefix))
+                .filter(script -> Arrays.stream(suffixes).anyMatch(script.getFilename()::endsWith))
+                .toList();
+    }
+
+    private void cargar(String patron) {
+        try {
+            for (Resource recurso : new PathMatchingResourcePatternResolver().getResources(patron)) {
+                scripts.put(recurso.getFilename(), new Script(recurso));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class Script extends LoadableResource {
+
+        private final Resource recurso;
+
+        Script(Resource recurso) {
+            this.recurso = recurso;
+        }
+
+        @Override
+        public Reader read() {
+            try {
+                return new InputStreamReader(recurso.getInputStream(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public String getAbsolutePath() {
+            try {
+                return recurso.getURL().toString();
+            } catch (IOException e) {
+                return getFilename();
+            }
+        }
+
+        @Override
+        public String getAbsolutePathOnDisk() {
+            return getAbsolutePath();
+        }
+
+        @Override
+        public String getFilename() {
+            return recurso.getFilename();
+        }
+
+        @Override
+        public String getRelativePath() {
+            return getFilename();
+        }
+    }
+}
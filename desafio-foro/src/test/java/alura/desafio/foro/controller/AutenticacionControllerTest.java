@@ -0,0 +1,70 @@
+package alura.desafio.foro.controller;
+
+import alura.desafio.foro.infra.exception.ApiExceptionHandler;
+import alura.desafio.foro.infra.exception.ServicioSaturadoException;
+import alura.desafio.foro.service.LoginService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Las dos formas de rechazo de LoginService (al encolar y tras esperar en cola) llegan al cliente como 503 con Retry-After.
+class AutenticacionControllerTest {
+
+    private static final String CREDENCIALES = "{\"email\":\"ana@example.com\",\"contrasena\":\"secreta\"}";
+
+    private LoginService loginService;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        loginService = mock(LoginService.class, withSettings().stubOnly());
+        AutenticacionController controller = new AutenticacionController();
+        ReflectionTestUtils.setField(controller, "loginService", loginService);
+        mvc = MockMvcBuilders.standaloneSetup(controller).setControllerAdvice(new ApiExceptionHandler()).build();
+    }
+
+    @Test
+    void conLaColaLlenaSeResponde503() throws Exception {
+        when(loginService.autenticar(any(), any())).thenThrow(new ServicioSaturadoException("Cola llena"));
+
+        mvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON).content(CREDENCIALES))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.message").value("Cola llena"));
+    }
+
+    @Test
+    void unLoginVencidoEnColaSeResponde503() throws Exception {
+        when(loginService.autenticar(any(), any()))
+                .thenReturn(CompletableFuture.supplyAsync(() -> {
+                    throw new ServicioSaturadoException("Esperó demasiado");
+                }));
+
+        MvcResult resultado = mvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON).content(CREDENCIALES))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.message").value("Esperó demasiado"));
+    }
+}
@@ -0,0 +1,217 @@
+package alura.desafio.foro.controller;
+
+import alura.desafio.foro.carga.MigracionesH2;
+import alura.desafio.foro.domain.topico.Topico;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// PUT y DELETE de /topicos/{id} sobre la aplicación completa, con H2 en modo MySQL y las migraciones reales.
+// El SQL que genera Hibernate se registra con un StatementInspector, como en IndicesTopicosTest.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:topico_controller;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("carga")
+class TopicoControllerTest {
+
+    private static final List<String> CONSULTAS = new CopyOnWriteArrayList<>();
+
+    // Se ejecuta justo antes de cada UPDATE de topicos que manda Hibernate: simula una edición de otra solicitud.
+    private static volatile Runnable antesDeActualizar = () -> {
+    };
+
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        FlywayConfigurationCustomizer migracionesH2() {
+            return configuracion -> configuracion.resourceProvider(new MigracionesH2());
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer consultasGeneradas() {
+            StatementInspector inspector = sql -> {
+                CONSULTAS.add(sql);
+                if (sql.startsWith("update topicos")) {
+                    antesDeActualizar.run();
+                }
+                return sql;
+            };
+            return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long id;
+
+    @BeforeEach
+    void crearTopico() throws Exception {
+        String respuesta = mvc.perform(autenticado(post("/topicos")).contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("titulo", "Título " + System.nanoTime(), "mensaje", "Un mensaje largo",
+                                "autor", "Ana", "curso", "Spring"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        id = objectMapper.readTree(respuesta).get("id").asLong();
+        CONSULTAS.clear();
+    }
+
+    @AfterEach
+    void restaurar() {
+        antesDeActualizar = () -> {
+        };
+    }
+
+    @Test
+    void conIfMatchSeActualizaConUnSoloUpdateSinLeerAntes() throws Exception {
+        mvc.perform(autenticado(put("/topicos/{id}", id)).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("curso", "Java"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.curso").value("Java"))
+                .andExpect(jsonPath("$.mensaje").value("Un mensaje largo"));
+
+        assertEquals(Map.of("curso", "Java", "version", 1L),
+                jdbc.queryForMap("select curso, version from topicos where id = ?", id));
+        // El UPDATE va por JDBC; Hibernate solo lee el tópico una vez, después, para la respuesta y el evento.
+        assertFalse(CONSULTAS.stream().anyMatch(sql -> sql.startsWith("update topicos")), CONSULTAS::toString);
+        assertEquals(1, CONSULTAS.stream().filter(sql -> sql.contains(" from topicos ")).count(), CONSULTAS::toString);
+    }
+
+    // El UPDATE sin leer el tópico calcula el hash nuevo; el filtro de Bloom lo incorpora y detecta el duplicado.
+    @Test
+    void conIfMatchElHashSigueAlContenidoEditado() throws Exception {
+        String titulo = "Editado " + System.nanoTime();
+        mvc.perform(autenticado(put("/topicos/{id}", id)).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("titulo", titulo, "mensaje", "Otro mensaje"))))
+                .andExpect(status().isOk());
+
+        assertEquals(Topico.calcularHashContenido(titulo, "Otro mensaje"),
+                jdbc.queryForObject("select hash_contenido from topicos where id = ?", String.class, id));
+        mvc.perform(autenticado(post("/topicos")).contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("titulo", titulo, "mensaje", "Otro mensaje", "autor", "Luis", "curso", "Java"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void conIfMatchYPreferMinimalSeRespondeSinCuerpo() throws Exception {
+        mvc.perform(autenticado(put("/topicos/{id}", id)).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("autor", "Luis"))))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        assertEquals("Luis", jdbc.queryForObject("select autor from topicos where id = ?", String.class, id));
+    }
+
+    @Test
+    void conIfMatchDeOtraVersionSeResponde412SinModificarNada() throws Exception {
+        // Camino de un solo UPDATE (ninguna fila coincide con la versión)
+        mvc.perform(autenticado(put("/topicos/{id}", id)).header(HttpHeaders.IF_MATCH, "\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("curso", "Java"))))
+                .andExpect(status().isPreconditionFailed());
+        // Camino que lee el tópico (solo el título no alcanza para calcular el hash sin leerlo)
+        mvc.perform(autenticado(put("/topicos/{id}", id)).header(HttpHeaders.IF_MATCH, "\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("titulo", "Otro título"))))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals(Map.of("curso", "Spring", "version", 0L),
+                jdbc.queryForMap("select curso, version from topicos where id = ?", id));
+    }
+
+    @Test
+    void conIfMatchSobreUnTopicoInexistenteSeResponde404() throws Exception {
+        mvc.perform(autenticado(put("/topicos/{id}", Long.MAX_VALUE)).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("curso", "Java"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void sinIfMatchElUpdateLlevaSoloLasColumnasModificadas() throws Exception {
+        mvc.perform(autenticado(put("/topicos/{id}", id))
+                        .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("curso", "Java"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        List<String> updates = CONSULTAS.stream().filter(sql -> sql.startsWith("update topicos")).toList();
+        assertEquals(1, updates.size(), CONSULTAS::toString);
+        String set = updates.get(0).substring(0, updates.get(0).indexOf(" where "));
+        assertTrue(set.contains("curso") && set.contains("version"), set);
+        assertFalse(set.contains("mensaje") || set.contains("titulo") || set.contains("autor"), set);
+    }
+
+    @Test
+    void deleteReintentaSiUnaEdicionConcurrenteCambiaLaVersion() throws Exception {
+        AtomicInteger ediciones = new AtomicInteger();
+        antesDeActualizar = () -> {
+            if (ediciones.getAndIncrement() == 0) {
+                editarEnOtraConexion();
+            }
+        };
+
+        mvc.perform(autenticado(delete("/topicos/{id}", id))).andExpect(status().isNoContent());
+
+        assertEquals(2, ediciones.get());
+        assertEquals("ELIMINADO", jdbc.queryForObject("select status from topicos where id = ?", String.class, id));
+    }
+
+    @Test
+    void deleteSeRindeTrasLosReintentosConUn409() throws Exception {
+        antesDeActualizar = this::editarEnOtraConexion;
+
+        mvc.perform(autenticado(delete("/topicos/{id}", id))).andExpect(status().isConflict());
+
+        assertEquals("ACTIVO", jdbc.queryForObject("select status from topicos where id = ?", String.class, id));
+    }
+
+    // En autocommit, por fuera de la transacción de la solicitud, que todavía no bloqueó la fila.
+    private void editarEnOtraConexion() {
+        jdbc.update("update topicos set version = version + 1 where id = ?", id);
+    }
+
+    private static MockHttpServletRequestBuilder autenticado(MockHttpServletRequestBuilder solicitud) {
+        return solicitud.with(user("ana@example.com"));
+    }
+
+    private String json(Object valor) throws Exception {
+        return objectMapper.writeValueAsString(valor);
+    }
+}
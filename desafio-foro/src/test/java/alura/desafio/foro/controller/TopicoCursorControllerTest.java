@@ -0,0 +1,110 @@
+package alura.desafio.foro.controller;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.domain.topico.Topico;
+import alura.desafio.foro.infra.exception.ApiExceptionHandler;
+import alura.desafio.foro.repository.TopicoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /topicos/cursor sin Spring ni BD: el repositorio aplica la condición de las consultas de TopicoRepository
+// (fechaCreacion, id) > cursor sobre una lista en memoria.
+class TopicoCursorControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Topico> tabla = new ArrayList<>();
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        TopicoRepository topicoRepository = mock(TopicoRepository.class, withSettings().stubOnly());
+        when(topicoRepository.buscarPrimerosPorFechaCreacion(any(Pageable.class)))
+                .thenAnswer(invocacion -> primeros(tabla.stream(), invocacion.getArgument(0)));
+        when(topicoRepository.buscarSiguientesPorFechaCreacion(any(LocalDateTime.class), any(Long.class), any(Pageable.class)))
+                .thenAnswer(invocacion -> {
+                    LocalDateTime fecha = invocacion.getArgument(0);
+                    Long id = invocacion.getArgument(1);
+                    return primeros(tabla.stream().filter(topico -> topico.getFechaCreacion().isAfter(fecha)
+                            || topico.getFechaCreacion().equals(fecha) && topico.getId() > id), invocacion.getArgument(2));
+                });
+
+        TopicoController controller = new TopicoController();
+        ReflectionTestUtils.setField(controller, "topicoRepository", topicoRepository);
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new ApiExceptionHandler())
+                .build();
+    }
+
+    // Varios tópicos con la misma fechaCreacion: el id desempata y ninguno se repite ni se saltea entre páginas.
+    @Test
+    void elCursorSiguienteRetomaDondeTerminoLaPagina() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2024, 3, 9, 17, 45);
+        for (long id = 1; id <= 7; id++) {
+            tabla.add(topico(id, base.plusSeconds(id / 3)));
+        }
+        List<Long> esperados = tabla.stream().sorted(orden()).map(Topico::getId).toList();
+
+        List<Long> recorridos = new ArrayList<>();
+        int paginas = 0;
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder solicitud = get("/topicos/cursor").param("size", "2");
+            if (cursor != null) {
+                solicitud.param("cursor", cursor);
+            }
+            JsonNode pagina = objectMapper.readTree(mvc.perform(solicitud)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            pagina.get("content").forEach(topico -> recorridos.add(topico.get("id").asLong()));
+            cursor = pagina.get("siguienteCursor").isNull() ? null : pagina.get("siguienteCursor").asText();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(esperados, recorridos);
+        assertEquals(4, paginas);
+    }
+
+    @Test
+    void unCursorMalformadoSeResponde400() throws Exception {
+        mvc.perform(get("/topicos/cursor").param("cursor", "no-es-un-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("El cursor de paginación no es válido."));
+    }
+
+    private static List<Topico> primeros(Stream<Topico> topicos, Pageable limite) {
+        return topicos.sorted(orden()).limit(limite.getPageSize()).toList();
+    }
+
+    private static Comparator<Topico> orden() {
+        return Comparator.comparing(Topico::getFechaCreacion).thenComparing(Topico::getId);
+    }
+
+    private static Topico topico(long id, LocalDateTime fechaCreacion) {
+        Topico topico = new Topico(new DatosRegistroTopico("Título " + id, "Mensaje " + id, "Ana", "Spring"));
+        ReflectionTestUtils.setField(topico, "id", id);
+        ReflectionTestUtils.setField(topico, "fechaCreacion", fechaCreacion);
+        return topico;
+    }
+}
@@ -0,0 +1,36 @@
+package alura.desafio.foro.domain.topico;
+
+import alura.desafio.foro.infra.exception.CursorInvalidoException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTopicoTest {
+
+    @Test
+    void codificarYDecodificarConservanLaPosicion() {
+        CursorTopico cursor = new CursorTopico(LocalDateTime.of(2024, 3, 9, 17, 45, 1, 123_456_000), 42L);
+
+        String codificado = cursor.codificar();
+
+        assertEquals(cursor, CursorTopico.decodificar(codificado));
+        // Va en la query string sin escapar: Base64 URL sin relleno.
+        assertTrue(codificado.matches("[A-Za-z0-9_-]+"), codificado);
+    }
+
+    @Test
+    void unCursorMalformadoSeRechaza() {
+        for (String cursor : new String[]{"no es base64!", base64("2024-03-09T17:45"), base64("ayer|42"),
+                base64("2024-03-09T17:45|cuarenta"), base64("|42")}) {
+            assertThrows(CursorInvalidoException.class, () -> CursorTopico.decodificar(cursor), cursor);
+        }
+    }
+
+    private static String base64(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,39 @@
+package alura.desafio.foro.domain.topico;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopicoTest {
+
+    @Test
+    void elHashSeRecalculaAlEditarTituloOMensaje() {
+        Topico topico = new Topico(new DatosRegistroTopico("Título", "Mensaje", "Ana", "Spring"));
+        String original = topico.getHashContenido();
+        assertEquals(Topico.calcularHashContenido("Título", "Mensaje"), original);
+
+        topico.actualizarDatos(new DatosActualizarTopico(null, null, "Luis", "Java"));
+        assertEquals(original, topico.getHashContenido());
+
+        topico.actualizarDatos(new DatosActualizarTopico("Otro título", null, null, null));
+        assertEquals(Topico.calcularHashContenido("Otro título", "Mensaje"), topico.getHashContenido());
+
+        topico.actualizarDatos(new DatosActualizarTopico(null, "Otro mensaje", null, null));
+        assertEquals(Topico.calcularHashContenido("Otro título", "Otro mensaje"), topico.getHashContenido());
+    }
+
+    @Test
+    void elSeparadorDistingueDondeTerminaElTitulo() {
+        assertNotEquals(Topico.calcularHashContenido("ab", "c"), Topico.calcularHashContenido("a", "bc"));
+    }
+
+    @Test
+    void alEliminarSeQuitaElHash() {
+        Topico topico = new Topico(new DatosRegistroTopico("Título", "Mensaje", "Ana", "Spring"));
+
+        topico.eliminar();
+
+        assertNull(topico.getHashContenido());
+        assertTrue(topico.estaEliminado());
+    }
+}
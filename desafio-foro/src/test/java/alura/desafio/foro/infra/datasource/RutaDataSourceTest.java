@@ -0,0 +1,184 @@
+package alura.desafio.foro.infra.datasource;
+
+import alura.desafio.foro.domain.usuario.Usuario;
+import alura.desafio.foro.repository.BusquedaUsuarioRepository;
+import alura.desafio.foro.repository.BusquedaUsuarioRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Dos H2 en memoria hacen de primario y réplica; cada una responde con su propio nombre.
+class RutaDataSourceTest {
+
+    private VentanaLecturaPropia ventana;
+    private DataSource primario;
+    private DataSource dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate escritura;
+    private TransactionTemplate soloLectura;
+
+    @BeforeEach
+    void setUp() {
+        ventana = new VentanaLecturaPropia(60_000, 100);
+        RutaDataSource ruta = new RutaDataSource(ventana);
+        primario = baseEnMemoria("primario");
+        ruta.setTargetDataSources(Map.of(
+                RutaDataSource.Destino.PRIMARIO, primario,
+                RutaDataSource.Destino.REPLICA, baseEnMemoria("replica")));
+        ruta.afterPropertiesSet();
+        dataSource = new LazyConnectionDataSourceProxy(ruta);
+
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        escritura = new TransactionTemplate(transactionManager);
+        soloLectura = new TransactionTemplate(transactionManager);
+        soloLectura.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void transaccionesReadOnlyVanALaReplica() {
+        assertEquals("replica", soloLectura.execute(status -> origen()));
+        assertEquals("primario", escritura.execute(status -> origen()));
+        assertEquals("primario", origen());
+    }
+
+    // El camino de la aplicación: Hibernate con JpaTransactionManager, que prepara la conexión al empezar la transacción.
+    @Test
+    void conJpaLasTransaccionesReadOnlyVanALaReplica() {
+        LocalContainerEntityManagerFactoryBean fabrica = new LocalContainerEntityManagerFactoryBean();
+        fabrica.setDataSource(dataSource);
+        fabrica.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        fabrica.setPackagesToScan(RutaDataSourceTest.class.getPackageName());
+        fabrica.afterPropertiesSet();
+        EntityManagerFactory emf = fabrica.getObject();
+        try {
+            JpaTransactionManager transactionManager = new JpaTransactionManager(emf);
+            TransactionTemplate escrituraJpa = new TransactionTemplate(transactionManager);
+            TransactionTemplate soloLecturaJpa = new TransactionTemplate(transactionManager);
+            soloLecturaJpa.setReadOnly(true);
+
+            assertEquals("replica", soloLecturaJpa.execute(status -> origenJpa(emf)));
+            assertEquals("primario", escrituraJpa.execute(status -> origenJpa(emf)));
+
+            autenticar("ana@example.com");
+            ventana.registrarEscritura("ana@example.com");
+            assertEquals("primario", soloLecturaJpa.execute(status -> origenJpa(emf)));
+        } finally {
+            fabrica.destroy();
+        }
+    }
+
+    // Un usuario recién registrado en el primario que la réplica todavía no tiene: la búsqueda por natural id de
+    // SecurityFilter en la réplica falla, y su respaldo (como el login) corre fuera de la transacción readOnly.
+    @Test
+    void elRespaldoDeBusquedaPorEmailLeeDelPrimario() {
+        new JdbcTemplate(primario).update("insert into usuarios (nombre, email, contrasena) values (?, ?, ?)",
+                "Ana", "ana@example.com", "x");
+        LocalContainerEntityManagerFactoryBean fabrica = new LocalContainerEntityManagerFactoryBean();
+        fabrica.setDataSource(dataSource);
+        fabrica.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        fabrica.setPackagesToScan(Usuario.class.getPackageName());
+        // Como en application.properties: sin el perfil "cache", Hibernate no armaría las regiones de ehcache.xml.
+        fabrica.getJpaPropertyMap().put("hibernate.cache.use_second_level_cache", "false");
+        fabrica.afterPropertiesSet();
+        EntityManagerFactory emf = fabrica.getObject();
+        try {
+            JpaTransactionManager transactionManager = new JpaTransactionManager(emf);
+            BusquedaUsuarioRepositoryImpl implementacion = new BusquedaUsuarioRepositoryImpl();
+            ReflectionTestUtils.setField(implementacion, "entityManager",
+                    SharedEntityManagerCreator.createSharedEntityManager(emf));
+            // Las anotaciones @Transactional del fragmento se aplican como lo hace el proxy del repositorio.
+            ProxyFactory proxy = new ProxyFactory(implementacion);
+            proxy.addAdvice(new TransactionInterceptor((TransactionManager) transactionManager,
+                    new AnnotationTransactionAttributeSource()));
+            BusquedaUsuarioRepository repositorio = (BusquedaUsuarioRepository) proxy.getProxy();
+            TransactionTemplate soloLecturaJpa = new TransactionTemplate(transactionManager);
+            soloLecturaJpa.setReadOnly(true);
+
+            Optional<Usuario> enReplica = soloLecturaJpa.execute(status -> repositorio.findByEmail("ana@example.com"));
+            assertTrue(enReplica.isEmpty());
+            assertTrue(repositorio.findByEmail("ana@example.com").isPresent());
+        } finally {
+            fabrica.destroy();
+        }
+    }
+
+    @Test
+    void quienAcabaDeEscribirLeeDelPrimario() {
+        autenticar("ana@example.com");
+        ventana.registrarEscritura("ana@example.com");
+
+        assertEquals("primario", soloLectura.execute(status -> origen()));
+
+        autenticar("luis@example.com");
+        assertEquals("replica", soloLectura.execute(status -> origen()));
+    }
+
+    @Test
+    void conVentanaEnCeroNoSeRetienenEscrituras() {
+        ventana = new VentanaLecturaPropia(0, 100);
+        ventana.registrarEscritura("ana@example.com");
+
+        assertFalse(ventana.dentroDeVentana("ana@example.com"));
+    }
+
+    private String origen() {
+        return jdbc.queryForObject("select nombre from origen", String.class);
+    }
+
+    private static String origenJpa(EntityManagerFactory emf) {
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+        return (String) em.createNativeQuery("select nombre from origen").getSingleResult();
+    }
+
+    private static void autenticar(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private static DataSource baseEnMemoria(String nombre) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:ruta_" + nombre + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists origen (nombre varchar(20))");
+        jdbc.execute("delete from origen");
+        jdbc.update("insert into origen (nombre) values (?)", nombre);
+        jdbc.execute("drop table if exists usuarios");
+        jdbc.execute("create table usuarios (id bigint auto_increment primary key, nombre varchar(255),"
+                + " email varchar(255) unique, contrasena varchar(255))");
+        return dataSource;
+    }
+}
@@ -0,0 +1,43 @@
+package alura.desafio.foro.infra.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VentanaLecturaPropiaTest {
+
+    @Test
+    void conLaVentanaLlenaSaleElQueEscribioHaceMasTiempo() throws Exception {
+        VentanaLecturaPropia ventana = new VentanaLecturaPropia(60_000, 2);
+        ventana.registrarEscritura("ana");
+        Thread.sleep(2);
+        ventana.registrarEscritura("beto");
+        Thread.sleep(2);
+        ventana.registrarEscritura("carla");
+
+        assertFalse(ventana.dentroDeVentana("ana"));
+        assertTrue(ventana.dentroDeVentana("beto"));
+        assertTrue(ventana.dentroDeVentana("carla"));
+    }
+
+    // Volver a escribir renueva la ventana sin desalojar a nadie.
+    @Test
+    void quienYaEstaEnLaVentanaNoDesalojaAOtro() {
+        VentanaLecturaPropia ventana = new VentanaLecturaPropia(60_000, 2);
+        ventana.registrarEscritura("ana");
+        ventana.registrarEscritura("beto");
+        ventana.registrarEscritura("ana");
+
+        assertTrue(ventana.dentroDeVentana("ana"));
+        assertTrue(ventana.dentroDeVentana("beto"));
+    }
+
+    @Test
+    void sinVentanaNoSeRegistraNada() {
+        VentanaLecturaPropia ventana = new VentanaLecturaPropia(0, 2);
+        ventana.registrarEscritura("ana");
+
+        assertFalse(ventana.dentroDeVentana("ana"));
+    }
+}
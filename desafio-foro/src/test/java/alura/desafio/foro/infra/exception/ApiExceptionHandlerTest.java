@@ -0,0 +1,55 @@
+package alura.desafio.foro.infra.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.net.ConnectException;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Sin conexión a la BD: solo el timeout de Hikari con el pool lleno se informa como saturación (503 + Retry-After).
+class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Test
+    void elPoolAgotadoSeResponde503ConRetryAfter() {
+        SQLTransientConnectionException timeout = new SQLTransientConnectionException(
+                "HikariPool-1 - Connection is not available, request timed out after 2000ms.");
+
+        ResponseEntity<ApiExceptionHandler.ErrorResponse> respuesta = handler.handleSinConexionException(
+                new CannotCreateTransactionException("Could not open JPA EntityManager for transaction", timeout), null);
+
+        assertEquals(503, respuesta.getStatusCode().value());
+        assertEquals("1", respuesta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("El servidor está ocupado. Intenta nuevamente en unos segundos.", respuesta.getBody().getMessage());
+    }
+
+    @Test
+    void laBdCaidaNoSeInformaComoPoolAgotado() {
+        // Hikari también vence el timeout cuando no logra abrir conexiones, pero adjunta la falla original.
+        SQLTransientConnectionException timeout = new SQLTransientConnectionException(
+                "HikariPool-1 - Connection is not available, request timed out after 2000ms.",
+                new SQLException("Communications link failure", new ConnectException("Connection refused")));
+
+        assertInternal(handler.handleSinConexionException(
+                new CannotCreateTransactionException("Could not open JPA EntityManager for transaction", timeout), null));
+    }
+
+    @Test
+    void otraFallaAlObtenerLaConexionEsErrorInterno() {
+        assertInternal(handler.handleSinConexionException(new CannotGetJdbcConnectionException(
+                "Failed to obtain JDBC Connection", new SQLException("Access denied for user 'foro'")), null));
+    }
+
+    private static void assertInternal(ResponseEntity<ApiExceptionHandler.ErrorResponse> respuesta) {
+        assertEquals(500, respuesta.getStatusCode().value());
+        assertNull(respuesta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
@@ -0,0 +1,78 @@
+package alura.desafio.foro.infra.metricas;
+
+import alura.desafio.foro.carga.MigracionesH2;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Las métricas propias salen por /actuator/prometheus del puerto de gestión, con los histogramas de
+// application.properties: solo se aplican a los medidores del registro de Spring.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:metricas_prometheus;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("carga")
+class MetricasPrometheusTest {
+
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        FlywayConfigurationCustomizer migracionesH2() {
+            return configuracion -> configuracion.resourceProvider(new MigracionesH2());
+        }
+    }
+
+    @LocalServerPort
+    private int puerto;
+
+    @LocalManagementPort
+    private int puertoGestion;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void lasMetricasPropiasSalenPorElPuertoDeGestion() throws Exception {
+        // Un login fallido pasa por la cola y el pool de login.
+        HttpResponse<String> login = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"nadie@example.com\",\"contrasena\":\"x\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertTrue(login.statusCode() >= 400, login::body);
+
+        HttpResponse<String> respuesta = http.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + puertoGestion + "/actuator/prometheus")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, respuesta.statusCode());
+        String metricas = respuesta.body();
+
+        for (String metrica : List.of(
+                "login_espera_seconds_count",
+                "login_duracion_seconds_bucket",
+                "login_cola",
+                "login_rechazados_total",
+                "jwt_verificacion_seconds_bucket{application=\"desafio-foro\",origen=\"firma\"",
+                "jwt_verificacion_seconds_count{application=\"desafio-foro\",origen=\"cache\"",
+                "seguridad_usuario_consulta_seconds_bucket",
+                "topicos_archivados_total")) {
+            assertTrue(metricas.contains(metrica), () -> "Falta " + metrica);
+        }
+        assertTrue(metricas.contains("login_duracion_seconds_count{application=\"desafio-foro\"} 1\n"),
+                () -> metricas.lines().filter(linea -> linea.startsWith("login_duracion")).toList().toString());
+    }
+}
@@ -0,0 +1,79 @@
+package alura.desafio.foro.infra.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimiteTasaTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void admiteLaRafagaYDespuesUnaPorIntervalo() {
+        LimiteTasa limite = new LimiteTasa(60, 3, 100);
+        long ahora = 1_000 * SEGUNDO;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limite.intentar("ip:1", ahora));
+        }
+        long espera = limite.intentar("ip:1", ahora);
+        assertEquals(SEGUNDO, espera);
+
+        assertEquals(0, limite.intentar("ip:1", ahora + espera));
+        assertTrue(limite.intentar("ip:1", ahora + espera) > 0);
+        // Otra clave tiene su propio balde.
+        assertEquals(0, limite.intentar("ip:2", ahora));
+    }
+
+    @Test
+    void unRechazoNoConsumeDelBalde() {
+        LimiteTasa limite = new LimiteTasa(60, 1, 100);
+        long ahora = 1_000 * SEGUNDO;
+
+        assertEquals(0, limite.intentar("ip:1", ahora));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limite.intentar("ip:1", ahora) > 0);
+        }
+        assertEquals(0, limite.intentar("ip:1", ahora + SEGUNDO));
+    }
+
+    @Test
+    void lasClavesInactivasSeEliminanYLasNuevasDesbordanAUnBaldeCompartido() {
+        LimiteTasa limite = new LimiteTasa(60, 1, 2);
+        long ahora = 1_000 * SEGUNDO;
+
+        limite.intentar("ip:1", ahora);
+        limite.intentar("ip:2", ahora);
+        assertEquals(0, limite.intentar("ip:3", ahora));
+        assertTrue(limite.intentar("ip:4", ahora) > 0, "ip:3 e ip:4 comparten el balde de desborde");
+
+        assertEquals(3, limite.eliminarInactivas(ahora + SEGUNDO));
+        assertEquals(0, limite.getClaves());
+    }
+
+    @Test
+    void bajoConcurrenciaNoSeAdmiteMasQueLaRafaga() throws Exception {
+        LimiteTasa limite = new LimiteTasa(1, 50, 100);
+        long ahora = 1_000 * SEGUNDO;
+        AtomicInteger admitidas = new AtomicInteger();
+
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            hilos.execute(() -> {
+                if (limite.intentar("usuario:ana", ahora) == 0) {
+                    admitidas.incrementAndGet();
+                }
+            });
+        }
+        hilos.shutdown();
+        assertTrue(hilos.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(50, admitidas.get());
+    }
+}
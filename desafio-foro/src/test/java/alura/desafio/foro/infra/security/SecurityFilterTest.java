@@ -0,0 +1,146 @@
+package alura.desafio.foro.infra.security;
+
+import alura.desafio.foro.domain.usuario.Usuario;
+import alura.desafio.foro.domain.usuario.UsuarioAutenticado;
+import alura.desafio.foro.repository.UsuarioRepository;
+import alura.desafio.foro.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SecurityFilterTest {
+
+    private static final Usuario ANA = new Usuario(7L, "Ana", "ana@example.com", "x");
+
+    private TokenService tokenService;
+    private UsuarioRepository usuarioRepository;
+    private SecurityFilter filtro;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Si cada búsqueda por email corrió dentro de una transacción readOnly (réplica) o no (primario).
+    private final List<Boolean> busquedasSoloLectura = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secretOrKey", "clave_de_prueba_con_longitud_suficiente_para_hs256");
+        ReflectionTestUtils.setField(tokenService, "expiration", 60_000L);
+        ReflectionTestUtils.setField(tokenService, "maxEntradasCache", 100);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(tokenService, "inicializar");
+
+        usuarioRepository = mock(UsuarioRepository.class);
+        filtro = new SecurityFilter();
+        ReflectionTestUtils.setField(filtro, "tokenService", tokenService);
+        ReflectionTestUtils.setField(filtro, "usuarioRepository", usuarioRepository);
+        ReflectionTestUtils.setField(filtro, "transactionManager", new TransaccionesSinRecursos());
+        ReflectionTestUtils.setField(filtro, "principalDesdeToken", true);
+        ReflectionTestUtils.setField(filtro, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(filtro, "inicializar");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void conElPrincipalDesdeElTokenNoSeConsultaLaBd() throws Exception {
+        Authentication autenticacion = filtrar(tokenService.generarToken(ANA));
+
+        UsuarioAutenticado usuario = assertInstanceOf(UsuarioAutenticado.class, autenticacion.getPrincipal());
+        assertEquals(7L, usuario.id());
+        assertEquals("ana@example.com", usuario.email());
+        assertEquals("ana@example.com", usuario.getName());
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    void sinElFlagElUsuarioSeLeeDeLaReplica() throws Exception {
+        ReflectionTestUtils.setField(filtro, "principalDesdeToken", false);
+        when(usuarioRepository.findByEmail(anyString())).thenAnswer(invocacion -> {
+            busquedasSoloLectura.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return Optional.of(ANA);
+        });
+
+        Authentication autenticacion = filtrar(tokenService.generarToken(ANA));
+
+        assertEquals(ANA, autenticacion.getPrincipal());
+        assertEquals(List.of(true), busquedasSoloLectura);
+        assertEquals(1, meterRegistry.get("seguridad.usuario.consulta").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.verificacion").tag("origen", "firma").timer().count());
+    }
+
+    // Usuario recién registrado que la réplica todavía no tiene: se vuelve a buscar fuera de la transacción readOnly.
+    @Test
+    void sinElFlagUnUsuarioQueFaltaEnLaReplicaSeBuscaEnElPrimario() throws Exception {
+        ReflectionTestUtils.setField(filtro, "principalDesdeToken", false);
+        when(usuarioRepository.findByEmail(anyString())).thenAnswer(invocacion -> {
+            boolean soloLectura = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+            busquedasSoloLectura.add(soloLectura);
+            return soloLectura ? Optional.empty() : Optional.of(ANA);
+        });
+
+        Authentication autenticacion = filtrar(tokenService.generarToken(ANA));
+
+        assertEquals(ANA, autenticacion.getPrincipal());
+        assertEquals(List.of(true, false), busquedasSoloLectura);
+    }
+
+    @Test
+    void unTokenInvalidoNoAutentica() throws Exception {
+        assertNull(filtrar(tokenService.generarToken(ANA) + "x"));
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    private Authentication filtrar(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/topicos");
+        request.addHeader("Authorization", "Bearer " + token);
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    // Solo marca las transacciones (readOnly incluido) en TransactionSynchronizationManager, sin conexión.
+    private static class TransaccionesSinRecursos extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
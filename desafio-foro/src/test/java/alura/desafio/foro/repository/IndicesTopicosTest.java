@@ -0,0 +1,180 @@
+package alura.desafio.foro.repository;
+
+import alura.desafio.foro.carga.MigracionesH2;
+import alura.desafio.foro.domain.topico.DatosFiltroTopicos;
+import alura.desafio.foro.domain.topico.Topico;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Planes de las consultas de GET /topicos con filtros, sobre las migraciones reales (H2 en modo MySQL).
+// Se explica el SQL que genera Hibernate para listarPorIds: los ids de la página con offset/limit y el count, que
+// deben resolverse solo con el índice (incluida la condición de @SQLRestriction en Topico), y la carga por id.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:indices_topicos;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=",
+        "spring.jpa.hibernate.ddl-auto=none"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IndicesTopicosTest {
+
+    private static final List<String> CONSULTAS = new CopyOnWriteArrayList<>();
+    private static final Pattern COLUMNA = Pattern.compile("\\bt1_0\\.(\\w+)");
+
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        FlywayConfigurationCustomizer migracionesH2() {
+            return configuracion -> configuracion.resourceProvider(new MigracionesH2());
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer consultasGeneradas() {
+            StatementInspector inspector = sql -> {
+                CONSULTAS.add(sql);
+                return sql;
+            };
+            return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void poblar() {
+        if (jdbc.queryForObject("select count(*) from topicos", Long.class) > 0) {
+            return;
+        }
+        List<Object[]> filas = new ArrayList<>();
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < 5000; i++) {
+            filas.add(new Object[]{i + 1, "Título " + i, "Mensaje " + i, Timestamp.valueOf(inicio.plusHours(i)),
+                    i % 20 == 0 ? "CERRADO" : "ACTIVO", "Autor " + (i % 200), "Curso " + (i % 50), "%064d".formatted(i)});
+        }
+        jdbc.batchUpdate("insert into topicos (id, titulo, mensaje, fecha_creacion, status, autor, curso, hash_contenido)"
+                + " values (?, ?, ?, ?, ?, ?, ?, ?)", filas);
+        jdbc.execute("analyze");
+    }
+
+    @Test
+    void filtroPorCursoUsaSuIndice() {
+        assertUsaIndice("idx_topicos_curso_fecha_creacion", new DatosFiltroTopicos("Curso 7", null, null, null, null));
+    }
+
+    @Test
+    void filtroPorAutorYRangoDeFechasUsaSuIndice() {
+        assertUsaIndice("idx_topicos_autor_fecha_creacion", new DatosFiltroTopicos(null, null, "Autor 3",
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)));
+    }
+
+    @Test
+    void filtroPorStatusUsaSuIndice() {
+        assertUsaIndice("idx_topicos_status_fecha_creacion", new DatosFiltroTopicos(null, "CERRADO", null, null, null));
+    }
+
+    @Test
+    void rangoDeFechasSinOtrosFiltrosUsaElIndiceDeFecha() {
+        assertUsaIndice("idx_topicos_fecha_creacion_id", new DatosFiltroTopicos(null, null, null,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 1)));
+    }
+
+    // La segunda página, para que la consulta de ids lleve offset y se ejecute también el count.
+    private void assertUsaIndice(String indice, DatosFiltroTopicos filtro) {
+        Pageable pagina = PageRequest.of(1, 10, Sort.by("fechaCreacion"));
+        CONSULTAS.clear();
+        List<Long> ids = topicoRepository.listarPorIds(TopicoEspecificaciones.filtrar(filtro), pagina)
+                .map(Topico::getId).getContent();
+
+        List<String> consultas = List.copyOf(CONSULTAS);
+        List<String> consultasIndice = consultas.stream().filter(consulta -> !consulta.contains(".id in (")).toList();
+        assertEquals(2, consultasIndice.size(), consultas::toString);
+        Set<String> columnasIndice = Set.copyOf(jdbc.queryForList(
+                "select column_name from information_schema.index_columns where index_name = ?", String.class, indice));
+        for (String consulta : consultasIndice) {
+            // Los parámetros van en el orden de las condiciones de TopicoEspecificaciones y luego offset y limit.
+            List<Object> parametros = parametros(filtro);
+            if (consulta.contains(" offset ")) {
+                parametros.add(pagina.getOffset());
+                parametros.add(pagina.getPageSize());
+            }
+            String plan = jdbc.queryForObject("explain " + consulta, String.class, parametros.toArray());
+            assertTrue(plan.contains(indice), plan);
+            assertFalse(plan.contains("tableScan"), plan);
+            // Índice cubriente: la consulta no lee ninguna columna que no esté en él.
+            assertTrue(columnasIndice.containsAll(columnas(consulta)), consulta + " / " + columnasIndice);
+        }
+
+        // Los cuerpos de la página se leen por clave primaria.
+        List<String> cargas = consultas.stream().filter(consulta -> consulta.contains(".id in (")).toList();
+        assertEquals(ids.isEmpty() ? 0 : 1, cargas.size(), consultas::toString);
+        for (String consulta : cargas) {
+            String plan = jdbc.queryForObject("explain " + consulta, String.class, ids.toArray());
+            assertTrue(plan.contains("PRIMARY_KEY"), plan);
+        }
+    }
+
+    private static Set<String> columnas(String consulta) {
+        Set<String> columnas = new HashSet<>();
+        Matcher columna = COLUMNA.matcher(consulta);
+        while (columna.find()) {
+            columnas.add(columna.group(1));
+        }
+        return columnas;
+    }
+
+    private static List<Object> parametros(DatosFiltroTopicos filtro) {
+        List<Object> parametros = new ArrayList<>();
+        if (filtro.curso() != null) {
+            parametros.add(filtro.curso());
+        }
+        if (filtro.status() != null) {
+            parametros.add(filtro.status());
+        }
+        if (filtro.autor() != null) {
+            parametros.add(filtro.autor());
+        }
+        if (filtro.desde() != null) {
+            parametros.add(Timestamp.valueOf(filtro.desde().atStartOfDay()));
+        }
+        if (filtro.hasta() != null) {
+            parametros.add(Timestamp.valueOf(filtro.hasta().plusDays(1).atStartOfDay()));
+        }
+        return parametros;
+    }
+}
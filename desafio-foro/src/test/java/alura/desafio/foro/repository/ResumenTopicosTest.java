@@ -0,0 +1,130 @@
+package alura.desafio.foro.repository;
+
+import alura.desafio.foro.carga.MigracionesH2;
+import alura.desafio.foro.domain.topico.DatosFiltroTopicos;
+import alura.desafio.foro.domain.topico.DatosResumenTopico;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// GET /topicos/resumen sobre las migraciones reales (H2 en modo MySQL): la proyección se arma en SQL, con el
+// extracto truncado por la BD, sin los eliminados y con los mismos filtros que GET /topicos.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:resumen_topicos;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=",
+        "spring.jpa.hibernate.ddl-auto=none"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ResumenTopicosTest {
+
+    private static final List<String> CONSULTAS = new CopyOnWriteArrayList<>();
+    private static final String MENSAJE_LARGO = "0123456789".repeat(50);
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 5, 1, 9, 30);
+
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        FlywayConfigurationCustomizer migracionesH2() {
+            return configuracion -> configuracion.resourceProvider(new MigracionesH2());
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer consultasGeneradas() {
+            StatementInspector inspector = sql -> {
+                CONSULTAS.add(sql);
+                return sql;
+            };
+            return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void poblar() {
+        if (jdbc.queryForObject("select count(*) from topicos", Long.class) > 0) {
+            return;
+        }
+        List<Object[]> filas = new ArrayList<>();
+        filas.add(fila(1, MENSAJE_LARGO, INICIO, "ACTIVO", "Ana", "Spring"));
+        filas.add(fila(2, "Corto", INICIO.plusDays(1), "CERRADO", "Luis", "Java"));
+        filas.add(fila(3, "Eliminado", INICIO.plusDays(2), "ELIMINADO", "Ana", "Spring"));
+        filas.add(fila(4, "Otro", INICIO.plusDays(3), "ACTIVO", "Ana", "Spring"));
+        jdbc.batchUpdate("insert into topicos (id, titulo, mensaje, fecha_creacion, status, autor, curso, hash_contenido)"
+                + " values (?, ?, ?, ?, ?, ?, ?, ?)", filas);
+    }
+
+    @Test
+    void laProyeccionTraeElExtractoYLosCamposSinLosEliminados() {
+        CONSULTAS.clear();
+        Page<DatosResumenTopico> pagina = topicoRepository.listarResumen(
+                TopicoEspecificaciones.filtrar(sinFiltros()), PageRequest.of(0, 10, Sort.by("fechaCreacion")));
+
+        assertEquals(3, pagina.getTotalElements());
+        assertEquals(List.of(1L, 2L, 4L), pagina.map(DatosResumenTopico::id).getContent());
+        assertEquals(new DatosResumenTopico(1L, "Título 1", MENSAJE_LARGO.substring(0, DatosResumenTopico.LARGO_EXTRACTO),
+                INICIO, "ACTIVO", "Ana", "Spring"), pagina.getContent().get(0));
+        assertEquals(new DatosResumenTopico(2L, "Título 2", "Corto", INICIO.plusDays(1), "CERRADO", "Luis", "Java"),
+                pagina.getContent().get(1));
+
+        // Una sola consulta (el total sale del tamaño de la página) y el mensaje se trunca en el SELECT.
+        assertEquals(1, CONSULTAS.size(), CONSULTAS::toString);
+        assertTrue(CONSULTAS.get(0).contains("substring("), CONSULTAS.get(0));
+    }
+
+    @Test
+    void aplicaLosMismosFiltrosQueElListado() {
+        PageRequest primera = PageRequest.of(0, 1, Sort.by("fechaCreacion"));
+
+        Page<DatosResumenTopico> deAna = topicoRepository.listarResumen(TopicoEspecificaciones.filtrar(
+                new DatosFiltroTopicos("Spring", "ACTIVO", "Ana", null, null)), primera);
+        assertEquals(2, deAna.getTotalElements());
+        assertEquals(List.of(1L), deAna.map(DatosResumenTopico::id).getContent());
+
+        Page<DatosResumenTopico> porFechas = topicoRepository.listarResumen(TopicoEspecificaciones.filtrar(
+                new DatosFiltroTopicos(null, null, null, LocalDate.of(2024, 5, 2), LocalDate.of(2024, 5, 3))), primera);
+        assertEquals(1, porFechas.getTotalElements());
+        assertEquals(List.of(2L), porFechas.map(DatosResumenTopico::id).getContent());
+    }
+
+    private static DatosFiltroTopicos sinFiltros() {
+        return new DatosFiltroTopicos(null, null, null, null, null);
+    }
+
+    private static Object[] fila(long id, String mensaje, LocalDateTime fechaCreacion, String status, String autor,
+                                 String curso) {
+        return new Object[]{id, "Título " + id, mensaje, Timestamp.valueOf(fechaCreacion), status, autor, curso,
+                "%064d".formatted(id)};
+    }
+}
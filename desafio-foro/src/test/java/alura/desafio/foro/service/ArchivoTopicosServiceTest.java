@@ -0,0 +1,134 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.carga.MigracionesH2;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Vueltas de archivo sobre H2 en modo MySQL con las migraciones reales. La vuelta programada no llega a correr
+// (intervalo de una hora); las pruebas la lanzan a mano. Con max-uso-pool=0.1 bastan 2 conexiones activas de
+// las 20 del perfil carga para que se considere ocupado el pool.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivo_topicos;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "topicos.archivo.intervalo-ms=3600000",
+        "topicos.archivo.tamano-lote=2",
+        "topicos.archivo.factor-pausa=0",
+        "topicos.archivo.pausa-minima-ms=0",
+        "topicos.archivo.max-uso-pool=0.1"
+})
+@ActiveProfiles("carga")
+class ArchivoTopicosServiceTest {
+
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        FlywayConfigurationCustomizer migracionesH2() {
+            return configuracion -> configuracion.resourceProvider(new MigracionesH2());
+        }
+    }
+
+    @Autowired
+    private ArchivoTopicosService servicio;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void vaciarTablas() {
+        jdbc.update("DELETE FROM topicos_archivados");
+        jdbc.update("DELETE FROM topicos");
+        insertar(1, "ELIMINADO");
+        insertar(2, "CERRADO");
+        insertar(3, "ACTIVO");
+        insertar(4, "ELIMINADO");
+        insertar(5, "CERRADO");
+        insertar(6, "ACTIVO");
+        insertar(7, "ELIMINADO");
+    }
+
+    // Tres lotes (2 + 2 + 1); después del primero siguen en el hilo del servicio.
+    @Test
+    void unaVueltaMueveTodosLosArchivablesEnLotes() throws InterruptedException {
+        long antes = servicio.getArchivados();
+
+        ReflectionTestUtils.invokeMethod(servicio, "archivar", 0);
+
+        long limite = System.currentTimeMillis() + 5000;
+        while (servicio.getArchivados() - antes < 5 && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertEquals(5, servicio.getArchivados() - antes);
+        assertEquals(List.of(1L, 2L, 4L, 5L, 7L), ids("topicos_archivados"));
+        assertEquals(List.of(3L, 6L), ids("topicos"));
+        assertEquals("CERRADO", jdbc.queryForObject("SELECT status FROM topicos_archivados WHERE id = 2", String.class));
+    }
+
+    @Test
+    void conElPoolOcupadoSeCortaLaVuelta() throws Exception {
+        long cortadas = servicio.getVueltasCortadas();
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        try (Connection primera = hikari.getConnection(); Connection segunda = hikari.getConnection()) {
+            ReflectionTestUtils.invokeMethod(servicio, "archivar", 0);
+        }
+
+        assertEquals(cortadas + 1, servicio.getVueltasCortadas());
+        assertEquals(7, ids("topicos").size());
+        assertTrue(ids("topicos_archivados").isEmpty());
+    }
+
+    // Otra vuelta ya copió y borró el tópico 2 (el primero del índice de status) pero no confirmó: este lote lo salta
+    // en vez de copiarlo de nuevo y chocar con la clave de topicos_archivados.
+    @Test
+    void seSaltanLosTopicosQueArchivaOtraVueltaEnCurso() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbc.update("INSERT INTO topicos_archivados (id, titulo, mensaje, fecha_creacion, status, autor, curso)"
+                    + " SELECT id, titulo, mensaje, fecha_creacion, status, autor, curso FROM topicos WHERE id = 2");
+            jdbc.update("DELETE FROM topicos WHERE id = 2");
+
+            int movidos = CompletableFuture.supplyAsync(servicio::archivarLote).orTimeout(5, TimeUnit.SECONDS).join();
+
+            assertEquals(2, movidos);
+        });
+
+        assertEquals(3, ids("topicos_archivados").size());
+        assertEquals(2, servicio.archivarLote());
+        assertEquals(0, servicio.archivarLote());
+        assertEquals(List.of(1L, 2L, 4L, 5L, 7L), ids("topicos_archivados"));
+        assertEquals(List.of(3L, 6L), ids("topicos"));
+    }
+
+    private void insertar(long id, String status) {
+        jdbc.update("INSERT INTO topicos (id, titulo, mensaje, status, autor, curso) VALUES (?, ?, ?, ?, ?, ?)",
+                id, "Título " + id, "Mensaje " + id, status, "Ana", "Spring");
+    }
+
+    private List<Long> ids(String tabla) {
+        return jdbc.queryForList("SELECT id FROM " + tabla + " ORDER BY id", Long.class);
+    }
+}
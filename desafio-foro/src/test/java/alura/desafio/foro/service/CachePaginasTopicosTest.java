@@ -0,0 +1,194 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.domain.topico.EventoTopico;
+import alura.desafio.foro.domain.topico.Topico;
+import alura.desafio.foro.repository.TopicoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class CachePaginasTopicosTest {
+
+    private static final Pageable PRIMERA_PAGINA = PageRequest.of(0, 10, Sort.by("fechaCreacion"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private TopicoRepository topicoRepository;
+    private CachePaginasTopicos cache;
+
+    // La "versión" de la tabla: el título del único tópico de la página.
+    private final AtomicInteger datos = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        topicoRepository = mock(TopicoRepository.class, withSettings().stubOnly());
+        when(topicoRepository.findAll(any(Pageable.class))).thenAnswer(invocacion -> pagina(datos.get()));
+
+        cache = new CachePaginasTopicos();
+        ReflectionTestUtils.setField(cache, "topicoRepository", topicoRepository);
+        ReflectionTestUtils.setField(cache, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(cache, "transactionManager",
+                mock(PlatformTransactionManager.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+    }
+
+    @Test
+    void unaPaginaGuardadaSeSirveHastaLaSiguienteEscritura() throws Exception {
+        assertEquals(0, leer());
+        datos.set(1);
+        assertEquals(0, leer());
+        assertEquals(1, cache.getAciertos());
+
+        invalidar();
+        assertEquals(1, leer());
+    }
+
+    @Test
+    void lasPaginasSeCarganEnUnaTransaccionDeSoloLectura() throws Exception {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        ReflectionTestUtils.setField(cache, "transactionManager", transactionManager);
+
+        leer();
+
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    // Durante la ventana de la réplica después de una escritura, las páginas se leen cada vez y no se guardan.
+    @Test
+    void loLeidoDuranteLaVentanaDeLaReplicaNoSeGuarda() throws Exception {
+        ReflectionTestUtils.setField(cache, "ventanaReplicaMs", 200L);
+        invalidar();
+
+        assertEquals(0, leer());
+        datos.set(1);
+        assertEquals(1, leer());
+        assertEquals(0, cache.getAciertos());
+
+        Thread.sleep(250);
+        leer();
+        leer();
+        assertEquals(1, cache.getAciertos());
+    }
+
+    // La escritura se confirma mientras la página se está leyendo: la página vieja se guarda, pero no se sirve.
+    @Test
+    void unaCargaQueEmpezoAntesDeInvalidarNoSeSirve() throws Exception {
+        when(topicoRepository.findAll(any(Pageable.class))).thenAnswer(invocacion -> {
+            Page<Topico> vieja = pagina(datos.get());
+            if (datos.compareAndSet(0, 1)) {
+                invalidar();
+            }
+            return vieja;
+        });
+
+        assertEquals(0, leer());
+        assertEquals(1, leer());
+        assertEquals(1, leer());
+        assertEquals(2, cache.getFallos());
+    }
+
+    // La invalidación llega entre la decisión de guardar y el put(): la página vieja queda en el mapa, pero no se sirve.
+    @Test
+    void unaInvalidacionJustoAntesDelPutNoDejaLaPaginaVieja() throws Exception {
+        ReflectionTestUtils.setField(cache, "entradas", new ConcurrentHashMap<Object, Object>() {
+            @Override
+            public Object put(Object clave, Object entrada) {
+                if (datos.compareAndSet(0, 1)) {
+                    invalidar();
+                }
+                return super.put(clave, entrada);
+            }
+        });
+
+        assertEquals(0, leer());
+        assertEquals(1, leer());
+        assertEquals(1, leer());
+    }
+
+    // Una lectura que empieza después de que terminó la invalidación de la versión k no puede devolver una anterior.
+    @Test
+    void bajoConcurrenciaNoSeSirvenPaginasAnterioresALaUltimaInvalidacion() throws Exception {
+        AtomicInteger publicada = new AtomicInteger();
+        AtomicBoolean terminado = new AtomicBoolean();
+        AtomicInteger violaciones = new AtomicInteger();
+
+        ExecutorService hilos = Executors.newFixedThreadPool(5);
+        List<Future<?>> lectores = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            lectores.add(hilos.submit(() -> {
+                while (!terminado.get()) {
+                    int minimo = publicada.get();
+                    if (leer() < minimo) {
+                        violaciones.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        Future<?> escritor = hilos.submit(() -> {
+            for (int version = 1; version <= 20_000; version++) {
+                datos.set(version);
+                invalidar();
+                publicada.set(version);
+            }
+            terminado.set(true);
+        });
+
+        escritor.get(60, TimeUnit.SECONDS);
+        for (Future<?> lector : lectores) {
+            lector.get(10, TimeUnit.SECONDS);
+        }
+        hilos.shutdown();
+        assertTrue(hilos.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(0, violaciones.get());
+        assertEquals(20_000, leer());
+    }
+
+    private void invalidar() {
+        cache.alCambiarTopico(EventoTopico.creado(topico(datos.get())));
+    }
+
+    private int leer() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.escribir(PRIMERA_PAGINA, null, response);
+        String titulo = objectMapper.readTree(response.getContentAsByteArray()).get("content").get(0).get("titulo").asText();
+        return Integer.parseInt(titulo);
+    }
+
+    private static Page<Topico> pagina(int version) {
+        return new PageImpl<>(List.of(topico(version)), PRIMERA_PAGINA, 1);
+    }
+
+    private static Topico topico(int version) {
+        return new Topico(new DatosRegistroTopico(String.valueOf(version), "Mensaje", "Ana", "Spring"));
+    }
+}
@@ -0,0 +1,145 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.domain.topico.EventoTopico;
+import alura.desafio.foro.domain.topico.Topico;
+import alura.desafio.foro.domain.topico.TopicosArchivados;
+import alura.desafio.foro.repository.TopicoRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class CacheTopicosTest {
+
+    private static final Long ID = 7L;
+
+    private TopicoRepository topicoRepository;
+    private CacheTopicos cache;
+
+    // La versión del tópico en la "BD".
+    private final AtomicLong version = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        topicoRepository = mock(TopicoRepository.class, withSettings().stubOnly());
+        when(topicoRepository.findById(ID)).thenAnswer(invocacion -> Optional.of(topico(version.get())));
+
+        cache = new CacheTopicos(10);
+        ReflectionTestUtils.setField(cache, "topicoRepository", topicoRepository);
+        ReflectionTestUtils.setField(cache, "transactionManager",
+                mock(PlatformTransactionManager.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+    }
+
+    @Test
+    void unaEdicionOBajaInvalidaLaEntradaYUnAltaNo() {
+        assertEquals("\"0\"", cache.obtener(ID).etag());
+        version.set(1);
+        cache.alCambiarTopico(EventoTopico.creado(topico(1)));
+        assertEquals("\"0\"", cache.obtener(ID).etag());
+
+        cache.alCambiarTopico(EventoTopico.actualizado(null, topico(1)));
+        assertEquals("\"1\"", cache.obtener(ID).etag());
+
+        version.set(2);
+        cache.alCambiarTopico(EventoTopico.eliminado(ID, null));
+        assertEquals("\"2\"", cache.obtener(ID).etag());
+        assertEquals(1, cache.getAciertos());
+        assertEquals(3, cache.getFallos());
+    }
+
+    // Con réplica, los fallos van a la réplica: la carga es readOnly.
+    @Test
+    void losFallosSeCarganEnUnaTransaccionDeSoloLectura() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        ReflectionTestUtils.setField(cache, "transactionManager", transactionManager);
+
+        cache.obtener(ID);
+
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    // La réplica puede no tener todavía la edición: durante la ventana lo leído se responde, pero no se guarda.
+    @Test
+    void loLeidoDuranteLaVentanaDeLaReplicaNoSeGuarda() throws Exception {
+        ReflectionTestUtils.setField(cache, "ventanaReplicaMs", 200L);
+        cache.obtener(ID);
+        cache.alCambiarTopico(EventoTopico.actualizado(null, topico(1)));
+
+        assertEquals("\"0\"", cache.obtener(ID).etag());
+        version.set(1);
+        assertEquals("\"1\"", cache.obtener(ID).etag());
+        assertEquals(0, cache.getAciertos());
+
+        Thread.sleep(250);
+        cache.obtener(ID);
+        assertEquals("\"1\"", cache.obtener(ID).etag());
+        assertEquals(1, cache.getAciertos());
+    }
+
+    @Test
+    void archivarQuitaLosTopicosDelCache() {
+        cache.obtener(ID);
+        version.set(1);
+
+        cache.alArchivarTopicos(new TopicosArchivados(List.of(ID), false));
+
+        assertEquals("\"1\"", cache.obtener(ID).etag());
+    }
+
+    // La edición se confirma mientras se lee el tópico: se responde con lo leído, pero no se guarda.
+    @Test
+    void unaCargaQueEmpezoAntesDeInvalidarNoSeGuarda() {
+        when(topicoRepository.findById(ID)).thenAnswer(invocacion -> {
+            Topico viejo = topico(version.get());
+            version.incrementAndGet();
+            cache.alCambiarTopico(EventoTopico.actualizado(null, topico(version.get())));
+            return Optional.of(viejo);
+        });
+
+        assertEquals("\"0\"", cache.obtener(ID).etag());
+        assertEquals("\"1\"", cache.obtener(ID).etag());
+        assertEquals(0, cache.getAciertos());
+    }
+
+    @Test
+    void unTopicoEliminadoNoSeGuardaYDa404() {
+        Topico eliminado = topico(0);
+        eliminado.eliminar();
+        when(topicoRepository.findById(ID)).thenReturn(Optional.of(eliminado));
+
+        assertThrows(EntityNotFoundException.class, () -> cache.obtener(ID));
+        assertThrows(EntityNotFoundException.class, () -> cache.obtener(ID));
+        assertEquals(2, cache.getFallos());
+    }
+
+    @Test
+    void soloLosEtagsFuertesConUnaVersionSeReconocen() {
+        assertEquals(3L, CacheTopicos.versionDeEtag(CacheTopicos.etag(3)));
+        assertNull(CacheTopicos.versionDeEtag("W/\"3\""));
+        assertNull(CacheTopicos.versionDeEtag("3"));
+        assertNull(CacheTopicos.versionDeEtag("\"tres\""));
+        assertNull(CacheTopicos.versionDeEtag("\"\""));
+    }
+
+    private static Topico topico(long version) {
+        Topico topico = new Topico(new DatosRegistroTopico("Título", "Mensaje", "Ana", "Spring"));
+        ReflectionTestUtils.setField(topico, "id", ID);
+        ReflectionTestUtils.setField(topico, "version", version);
+        return topico;
+    }
+}
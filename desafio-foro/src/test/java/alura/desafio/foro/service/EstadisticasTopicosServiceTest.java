@@ -0,0 +1,157 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.DatosActualizarTopico;
+import alura.desafio.foro.domain.topico.DatosEstadisticasTopicos;
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.domain.topico.DatosRespuestaTopico;
+import alura.desafio.foro.domain.topico.EventoTopico;
+import alura.desafio.foro.domain.topico.Topico;
+import alura.desafio.foro.repository.TopicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// Los GROUP BY del repositorio se calculan sobre 'tabla', así un servicio recién cargado da los conteos reales.
+class EstadisticasTopicosServiceTest {
+
+    private final List<Topico> tabla = new ArrayList<>();
+    private final AtomicInteger reconciliaciones = new AtomicInteger();
+    private Runnable durantePrimeraConsulta = () -> {
+    };
+
+    private TopicoRepository topicoRepository;
+    private EstadisticasTopicosService estadisticas;
+    private long ultimoId;
+
+    @BeforeEach
+    void setUp() {
+        topicoRepository = mock(TopicoRepository.class, withSettings().stubOnly());
+        when(topicoRepository.contarPorCurso()).thenAnswer(invocacion -> {
+            reconciliaciones.incrementAndGet();
+            List<Object[]> filas = contar(Topico::getCurso);
+            durantePrimeraConsulta.run();
+            return filas;
+        });
+        when(topicoRepository.contarPorStatus()).thenAnswer(invocacion -> contar(Topico::getStatus));
+        when(topicoRepository.contarPorAutor()).thenAnswer(invocacion -> contar(Topico::getAutor));
+        when(topicoRepository.contarCreadosPorDia(any())).thenAnswer(invocacion -> contar(t -> t.getFechaCreacion().toLocalDate()));
+
+        guardar(new Topico(datos("Spring", "Ana")));
+        guardar(new Topico(datos("Java", "Luis")));
+        estadisticas = nuevoServicio();
+        estadisticas.cargar();
+    }
+
+    @Test
+    void losEventosDejanLosMismosConteosQueElGroupBy() {
+        Topico nuevo = guardar(new Topico(datos("Java", "Ana")));
+        estadisticas.alCambiarTopico(EventoTopico.creado(nuevo));
+
+        Topico editado = tabla.get(0);
+        DatosRespuestaTopico anterior = EventoTopico.instantanea(editado);
+        editado.actualizarDatos(new DatosActualizarTopico(null, null, "Marta", "Flyway"));
+        estadisticas.alCambiarTopico(EventoTopico.actualizado(anterior, editado));
+
+        Topico eliminado = tabla.get(1);
+        anterior = EventoTopico.instantanea(eliminado);
+        eliminado.eliminar();
+        estadisticas.alCambiarTopico(EventoTopico.eliminado(eliminado.getId(), anterior));
+
+        // Solo la carga inicial consultó la BD.
+        assertEquals(1, reconciliaciones.get());
+        assertEquals(2, estadisticas.obtener().total());
+        assertEquals(conteos(recalculadas()), conteos(estadisticas.obtener()));
+    }
+
+    @Test
+    void unUpdateSinAnteriorSoloReconciliaSiCambiaCursoOAutor() {
+        Topico topico = tabla.get(0);
+        DatosActualizarTopico contenido = new DatosActualizarTopico("Otro título", "Otro mensaje", null, null);
+        topico.actualizarDatos(contenido);
+        estadisticas.alCambiarTopico(EventoTopico.actualizadoSinAnterior(topico, contenido));
+        estadisticas.revisar();
+        assertEquals(1, reconciliaciones.get());
+
+        DatosActualizarTopico curso = new DatosActualizarTopico(null, null, null, "Flyway");
+        topico.actualizarDatos(curso);
+        estadisticas.alCambiarTopico(EventoTopico.actualizadoSinAnterior(topico, curso));
+        estadisticas.revisar();
+
+        assertEquals(2, reconciliaciones.get());
+        assertEquals(conteos(recalculadas()), conteos(estadisticas.obtener()));
+    }
+
+    // El alta se confirma después de la primera consulta: no está en el GROUP BY, pero el evento se vuelve a aplicar.
+    @Test
+    void unEventoQueLlegaDuranteLaReconciliacionNoSePierde() {
+        Topico nuevo = new Topico(datos("Hibernate", "Ana"));
+        ReflectionTestUtils.setField(nuevo, "id", ++ultimoId);
+        durantePrimeraConsulta = () -> {
+            durantePrimeraConsulta = () -> {
+            };
+            estadisticas.alCambiarTopico(EventoTopico.creado(nuevo));
+        };
+
+        estadisticas.cargar();
+        tabla.add(nuevo);
+
+        assertEquals(Map.of("Hibernate", 1L, "Java", 1L, "Spring", 1L), estadisticas.obtener().porCurso());
+        assertEquals(conteos(recalculadas()), conteos(estadisticas.obtener()));
+    }
+
+    private EstadisticasTopicosService nuevoServicio() {
+        EstadisticasTopicosService servicio = new EstadisticasTopicosService();
+        ReflectionTestUtils.setField(servicio, "topicoRepository", topicoRepository);
+        ReflectionTestUtils.setField(servicio, "transactionManager",
+                mock(PlatformTransactionManager.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(servicio, "dias", 30);
+        ReflectionTestUtils.setField(servicio, "reconciliarCadaMs", 3_600_000L);
+        return servicio;
+    }
+
+    private DatosEstadisticasTopicos recalculadas() {
+        EstadisticasTopicosService servicio = nuevoServicio();
+        servicio.cargar();
+        return servicio.obtener();
+    }
+
+    // Todo menos la fecha de la última reconciliación.
+    private static List<Object> conteos(DatosEstadisticasTopicos datos) {
+        return List.of(datos.total(), datos.porCurso(), datos.porStatus(), datos.porAutor(), datos.creadosPorDia());
+    }
+
+    // Como la consulta JPQL, sin los eliminados (@SQLRestriction).
+    private List<Object[]> contar(Function<Topico, Object> clave) {
+        return tabla.stream()
+                .filter(topico -> !topico.estaEliminado())
+                .collect(Collectors.groupingBy(clave, Collectors.counting()))
+                .entrySet().stream()
+                .map(fila -> new Object[]{fila.getKey(), fila.getValue()})
+                .toList();
+    }
+
+    private Topico guardar(Topico topico) {
+        ReflectionTestUtils.setField(topico, "id", ++ultimoId);
+        tabla.add(topico);
+        return topico;
+    }
+
+    private static DatosRegistroTopico datos(String curso, String autor) {
+        return new DatosRegistroTopico("Título " + LocalDateTime.now(), "Mensaje", autor, curso);
+    }
+}
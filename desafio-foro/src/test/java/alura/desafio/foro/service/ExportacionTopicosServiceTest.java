@@ -0,0 +1,144 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.carga.MigracionesH2;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// GET /topicos/exportar sobre las migraciones reales (H2 en modo MySQL): el SQL, los filtros y el formato NDJSON.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exportacion_topicos;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "topicos.exportacion.fetch-size=2"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ExportacionTopicosService.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExportacionTopicosServiceTest {
+
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        FlywayConfigurationCustomizer migracionesH2() {
+            return configuracion -> configuracion.resourceProvider(new MigracionesH2());
+        }
+    }
+
+    @Autowired
+    private ExportacionTopicosService exportacionTopicosService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void poblar() {
+        if (jdbc.queryForObject("select count(*) from topicos", Long.class) > 0) {
+            return;
+        }
+        List<Object[]> filas = new ArrayList<>();
+        filas.add(fila(1, "2024-03-01T00:00", "ACTIVO", "Spring"));
+        filas.add(fila(2, "2024-03-01T23:59:59", "CERRADO", "Java"));
+        filas.add(fila(3, "2024-03-02T10:00", "ELIMINADO", "Spring"));
+        filas.add(fila(4, "2024-03-02T23:59:59", "ACTIVO", "Spring"));
+        filas.add(fila(5, "2024-03-03T00:00", "ACTIVO", "Spring"));
+        jdbc.batchUpdate("insert into topicos (id, titulo, mensaje, fecha_creacion, status, autor, curso, hash_contenido)"
+                + " values (?, ?, ?, ?, ?, ?, ?, ?)", filas);
+    }
+
+    @Test
+    void sinFiltrosSaleCadaTopicoNoEliminadoEnUnaLineaOrdenadoPorId() throws IOException {
+        String ndjson = exportar(null, null, null);
+
+        assertTrue(ndjson.endsWith("}\n"));
+        List<JsonNode> lineas = new ArrayList<>();
+        for (String linea : ndjson.split("\n")) {
+            lineas.add(objectMapper.readTree(linea));
+        }
+        assertEquals(List.of(1L, 2L, 4L, 5L), lineas.stream().map(linea -> linea.get("id").asLong()).toList());
+
+        JsonNode segundo = lineas.get(1);
+        assertEquals("Título 2", segundo.get("titulo").asText());
+        assertEquals("Mensaje 2", segundo.get("mensaje").asText());
+        assertEquals("2024-03-01T23:59:59", segundo.get("fechaCreacion").asText());
+        assertEquals("CERRADO", segundo.get("status").asText());
+        assertEquals("Ana", segundo.get("autor").asText());
+        assertEquals("Java", segundo.get("curso").asText());
+    }
+
+    // Las dos fechas son inclusive: hasta cubre el día entero.
+    @Test
+    void elRangoDeFechasYElCursoFiltran() throws IOException {
+        assertEquals(List.of(1L, 2L, 4L), ids(exportar(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 2), null)));
+        assertEquals(List.of(4L, 5L), ids(exportar(LocalDate.of(2024, 3, 2), null, null)));
+        assertEquals(List.of(1L, 4L), ids(exportar(null, LocalDate.of(2024, 3, 2), "Spring")));
+        assertEquals(List.of(), ids(exportar(null, null, "Python")));
+    }
+
+    // Todo lo que se escribe en la salida ocurre dentro de la transacción readOnly: con réplica, la lectura va ahí.
+    @Test
+    void seLeeEnUnaTransaccionDeSoloLectura() throws IOException {
+        List<Boolean> soloLectura = new ArrayList<>();
+        ByteArrayOutputStream salida = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] b, int off, int len) {
+                soloLectura.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                super.write(b, off, len);
+            }
+        };
+
+        exportacionTopicosService.exportar(null, null, null, salida);
+
+        assertTrue(salida.size() > 0);
+        assertTrue(soloLectura.stream().allMatch(Boolean::booleanValue), soloLectura::toString);
+    }
+
+    private String exportar(LocalDate desde, LocalDate hasta, String curso) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        exportacionTopicosService.exportar(desde, hasta, curso, salida);
+        return salida.toString(StandardCharsets.UTF_8);
+    }
+
+    private List<Long> ids(String ndjson) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        for (String linea : ndjson.lines().toList()) {
+            ids.add(objectMapper.readTree(linea).get("id").asLong());
+        }
+        return ids;
+    }
+
+    private static Object[] fila(long id, String fechaCreacion, String status, String curso) {
+        return new Object[]{id, "Título " + id, "Mensaje " + id, Timestamp.valueOf(LocalDateTime.parse(fechaCreacion)),
+                status, "Ana", curso, "%064d".formatted(id)};
+    }
+}
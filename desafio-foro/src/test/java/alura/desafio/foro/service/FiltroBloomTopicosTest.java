@@ -0,0 +1,55 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.Topico;
+import alura.desafio.foro.repository.TopicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+class FiltroBloomTopicosTest {
+
+    private FiltroBloomTopicos filtro;
+
+    @BeforeEach
+    void setUp() {
+        filtro = new FiltroBloomTopicos();
+        // Sin tópicos en la BD: la carga inicial no agrega nada.
+        ReflectionTestUtils.setField(filtro, "topicoRepository", mock(TopicoRepository.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(filtro, "capacidad", 1000L);
+        ReflectionTestUtils.setField(filtro, "tasaFalsosPositivos", 0.01);
+        filtro.inicializar();
+    }
+
+    @Test
+    void antesDeCargarNoDescartaNada() {
+        assertTrue(filtro.puedeContener(hash(1)));
+    }
+
+    @Test
+    void noHayFalsosNegativosYLosPositivosQuedanCercaDeLaTasa() {
+        filtro.cargar();
+        for (int i = 0; i < 1000; i++) {
+            filtro.agregar(hash(i));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filtro.puedeContener(hash(i)), "falso negativo para " + i);
+        }
+        int falsosPositivos = 0;
+        for (int i = 1000; i < 11_000; i++) {
+            if (filtro.puedeContener(hash(i))) {
+                falsosPositivos++;
+            }
+        }
+        // Tasa configurada 1% con la capacidad llena; se deja margen para la varianza.
+        assertTrue(falsosPositivos < 300, "falsos positivos: " + falsosPositivos);
+    }
+
+    private static String hash(int i) {
+        return Topico.calcularHashContenido("Título " + i, "Mensaje " + i);
+    }
+}
@@ -0,0 +1,103 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.usuario.Usuario;
+import alura.desafio.foro.infra.exception.ServicioSaturadoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// Un hilo de login y un lugar en cola: el primer login ocupa el hilo hasta que la prueba lo libera.
+class LoginServiceTest {
+
+    private LoginService loginService;
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final AtomicInteger autenticaciones = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class, withSettings().stubOnly());
+        when(authenticationManager.authenticate(any())).thenAnswer(invocacion -> {
+            autenticaciones.incrementAndGet();
+            liberar.await(5, TimeUnit.SECONDS);
+            UsernamePasswordAuthenticationToken credenciales = invocacion.getArgument(0);
+            if (!"secreta".equals(credenciales.getCredentials())) {
+                throw new BadCredentialsException("contraseña incorrecta");
+            }
+            return new UsernamePasswordAuthenticationToken(new Usuario(7L, "Ana", "ana@example.com", "x"), null, List.of());
+        });
+        TokenService tokenService = mock(TokenService.class, withSettings().stubOnly());
+        when(tokenService.generarToken(any())).thenReturn("token");
+
+        loginService = new LoginService();
+        ReflectionTestUtils.setField(loginService, "authenticationManager", authenticationManager);
+        ReflectionTestUtils.setField(loginService, "tokenService", tokenService);
+        ReflectionTestUtils.setField(loginService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(loginService, "hilos", 1);
+        ReflectionTestUtils.setField(loginService, "capacidadCola", 1);
+        ReflectionTestUtils.setField(loginService, "esperaMaximaMs", 200L);
+        loginService.inicializar();
+    }
+
+    @AfterEach
+    void cerrar() {
+        liberar.countDown();
+        loginService.cerrar();
+    }
+
+    @Test
+    void conLaColaLlenaSeRechazaSinEsperar() {
+        CompletableFuture<String> enCurso = loginService.autenticar("ana@example.com", "secreta");
+        CompletableFuture<String> enCola = loginService.autenticar("ana@example.com", "secreta");
+
+        assertThrows(ServicioSaturadoException.class, () -> loginService.autenticar("ana@example.com", "secreta"));
+        assertEquals(1, loginService.getRechazados());
+
+        liberar.countDown();
+        assertEquals("token", enCurso.join());
+        assertEquals("token", enCola.join());
+    }
+
+    @Test
+    void unLoginQueEsperoDemasiadoEnColaNoLlegaABcrypt() throws InterruptedException {
+        CompletableFuture<String> enCurso = loginService.autenticar("ana@example.com", "secreta");
+        CompletableFuture<String> enCola = loginService.autenticar("ana@example.com", "secreta");
+
+        Thread.sleep(300);
+        liberar.countDown();
+
+        assertEquals("token", enCurso.join());
+        CompletionException error = assertThrows(CompletionException.class, enCola::join);
+        assertInstanceOf(ServicioSaturadoException.class, error.getCause());
+        assertEquals(1, autenticaciones.get());
+        assertEquals(1, loginService.getVencidosEnCola());
+    }
+
+    @Test
+    void lasCredencialesInvalidasLleganComoErrorDelFuture() {
+        liberar.countDown();
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> loginService.autenticar("ana@example.com", "otra").join());
+
+        assertInstanceOf(BadCredentialsException.class, error.getCause());
+        assertEquals(1, loginService.getCompletados());
+    }
+}
@@ -0,0 +1,155 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.domain.topico.DatosResultadoLoteTopico;
+import alura.desafio.foro.domain.topico.DatosResultadoLoteTopico.Resultado;
+import alura.desafio.foro.domain.topico.Topico;
+import alura.desafio.foro.repository.TopicoRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class LoteTopicosServiceTest {
+
+    private LoteTopicosService servicio;
+    private TopicoRepository topicoRepository;
+    // Topicos en el orden en que se pasaron a saveAll.
+    private final List<Topico> guardados = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        topicoRepository = mock(TopicoRepository.class, withSettings().stubOnly());
+        AtomicLong ids = new AtomicLong(100);
+        when(topicoRepository.saveAll(any())).thenAnswer(invocacion -> {
+            List<Topico> topicos = invocacion.getArgument(0);
+            for (Topico topico : topicos) {
+                ReflectionTestUtils.setField(topico, "id", ids.incrementAndGet());
+                guardados.add(topico);
+            }
+            return topicos;
+        });
+        // Filtro vacío y ya cargado: los hashes que no se agregaron no se consultan.
+        FiltroBloomTopicos filtro = new FiltroBloomTopicos();
+        ReflectionTestUtils.setField(filtro, "topicoRepository", topicoRepository);
+        ReflectionTestUtils.setField(filtro, "capacidad", 1000L);
+        ReflectionTestUtils.setField(filtro, "tasaFalsosPositivos", 0.01);
+        filtro.inicializar();
+        filtro.cargar();
+        filtro.agregar(Topico.calcularHashContenido("Existente", "Ya publicado"));
+
+        servicio = new LoteTopicosService();
+        ReflectionTestUtils.setField(servicio, "topicoRepository", topicoRepository);
+        ReflectionTestUtils.setField(servicio, "filtroBloomTopicos", filtro);
+        ReflectionTestUtils.setField(servicio, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(servicio, "eventPublisher", mock(ApplicationEventPublisher.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(servicio, "transactionManager",
+                mock(PlatformTransactionManager.class, withSettings().stubOnly()));
+    }
+
+    @Test
+    void cadaElementoRecibeSuResultadoEnLaPosicionDeLaSolicitud() {
+        when(topicoRepository.buscarHashesExistentes(anyCollection()))
+                .thenReturn(Set.of(Topico.calcularHashContenido("Existente", "Ya publicado")));
+
+        List<DatosResultadoLoteTopico> resultados = servicio.registrar(Arrays.asList(
+                topico("Primero", "Mensaje"),
+                topico("", "Sin título"),
+                topico("Primero", "Mensaje"),
+                topico("Existente", "Ya publicado"),
+                null,
+                topico("Segundo", "Mensaje")));
+
+        assertEquals(List.of(Resultado.CREADO, Resultado.INVALIDO, Resultado.DUPLICADO, Resultado.DUPLICADO,
+                Resultado.INVALIDO, Resultado.CREADO), resultados.stream().map(DatosResultadoLoteTopico::resultado).toList());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), resultados.stream().map(DatosResultadoLoteTopico::indice).toList());
+        // El texto del mensaje depende del locale de la JVM.
+        assertEquals(1, resultados.get(1).errores().size());
+        assertTrue(resultados.get(1).errores().get(0).startsWith("titulo: "), resultados.get(1).errores()::toString);
+        // Los creados se insertan en el orden del lote: los ids siguen a la solicitud.
+        assertEquals(List.of("Primero", "Segundo"), guardados.stream().map(Topico::getTitulo).toList());
+        assertEquals(101L, resultados.get(0).id());
+        assertEquals(102L, resultados.get(5).id());
+    }
+
+    @Test
+    void siElFiltroDescartaTodosNoSeConsultaLaBd() {
+        when(topicoRepository.buscarHashesExistentes(anyCollection())).thenThrow(new AssertionError("no debería consultarse"));
+
+        List<DatosResultadoLoteTopico> resultados = servicio.registrar(List.of(topico("Nuevo", "Mensaje")));
+
+        assertEquals(Resultado.CREADO, resultados.get(0).resultado());
+    }
+
+    // Otra solicitud confirma "Concurrente" después de la consulta de hashes: el lote se rehace uno por uno y solo ese
+    // elemento queda como duplicado.
+    @Test
+    void unDuplicadoConfirmadoPorOtraSolicitudSeInformaSinPerderElLote() {
+        String concurrente = Topico.calcularHashContenido("Concurrente", "Mensaje");
+        Set<String> enLaBd = new HashSet<>();
+        when(topicoRepository.buscarHashesExistentes(anyCollection())).thenAnswer(invocacion -> {
+            Set<String> existentes = new HashSet<>(invocacion.getArgument(0));
+            existentes.retainAll(enLaBd);
+            return existentes;
+        });
+        doAnswer(invocacion -> {
+            List<Topico> topicos = invocacion.getArgument(0);
+            if (topicos.stream().anyMatch(topico -> topico.getHashContenido().equals(concurrente))) {
+                enLaBd.add(concurrente);
+                throw new DataIntegrityViolationException("Duplicate entry for key 'uk_topicos_hash_contenido'");
+            }
+            for (Topico topico : topicos) {
+                ReflectionTestUtils.setField(topico, "id", 200L + guardados.size());
+                guardados.add(topico);
+                enLaBd.add(topico.getHashContenido());
+            }
+            return topicos;
+        }).when(topicoRepository).saveAll(any());
+
+        List<DatosResultadoLoteTopico> resultados = servicio.registrar(Arrays.asList(
+                topico("Primero", "Mensaje"),
+                topico("Concurrente", "Mensaje"),
+                null,
+                topico("Primero", "Mensaje"),
+                topico("Segundo", "Mensaje")));
+
+        assertEquals(List.of(Resultado.CREADO, Resultado.DUPLICADO, Resultado.INVALIDO, Resultado.DUPLICADO, Resultado.CREADO),
+                resultados.stream().map(DatosResultadoLoteTopico::resultado).toList());
+        assertEquals(List.of(0, 1, 2, 3, 4), resultados.stream().map(DatosResultadoLoteTopico::indice).toList());
+        assertEquals(List.of("Primero", "Segundo"), guardados.stream().map(Topico::getTitulo).toList());
+        assertEquals(200L, resultados.get(0).id());
+        assertEquals(201L, resultados.get(4).id());
+    }
+
+    // Una violación que no es del hash no se disfraza de duplicado.
+    @Test
+    void otraViolacionDeIntegridadNoSeInformaComoDuplicado() {
+        when(topicoRepository.buscarHashesExistentes(anyCollection())).thenReturn(Set.of());
+        doThrow(new DataIntegrityViolationException("Data too long for column")).when(topicoRepository).saveAll(any());
+
+        assertThrows(DataIntegrityViolationException.class, () -> servicio.registrar(List.of(topico("Nuevo", "Mensaje"))));
+    }
+
+    private static DatosRegistroTopico topico(String titulo, String mensaje) {
+        return new DatosRegistroTopico(titulo, mensaje, "Ana", "Spring");
+    }
+}
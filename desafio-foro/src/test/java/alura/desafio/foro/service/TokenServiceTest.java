@@ -0,0 +1,46 @@
+package alura.desafio.foro.service;
+
+import alura.desafio.foro.domain.usuario.Usuario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secretOrKey", "clave_de_prueba_con_longitud_suficiente_para_hs256");
+        ReflectionTestUtils.setField(tokenService, "expiration", 60_000L);
+        ReflectionTestUtils.setField(tokenService, "maxEntradasCache", 100);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        tokenService.inicializar();
+    }
+
+    @Test
+    void segundaVerificacionDelMismoTokenSaleDelCache() {
+        String token = tokenService.generarToken(new Usuario(7L, "Ana", "ana@example.com", "x"));
+
+        TokenVerificado primero = tokenService.verificarToken(token);
+        TokenVerificado segundo = tokenService.verificarToken(token);
+
+        assertEquals("ana@example.com", primero.subject());
+        assertEquals(7L, primero.id());
+        assertSame(primero, segundo);
+        assertEquals(1, tokenService.getFallosCacheTokens());
+        assertEquals(1, tokenService.getAciertosCacheTokens());
+    }
+
+    @Test
+    void tokenAlteradoNoSeAcepta() {
+        String token = tokenService.generarToken(new Usuario(7L, "Ana", "ana@example.com", "x"));
+        tokenService.verificarToken(token);
+
+        assertThrows(RuntimeException.class, () -> tokenService.getSubject(token + "x"));
+    }
+}
@@ -0,0 +1,54 @@
+package alura.desafio.foro.service.busqueda;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceInvertidoTest {
+
+    @Test
+    void tokenizadorIgnoraTildesYConservaLaEnie() {
+        assertEquals(List.of("validacion", "jwt", "año", "pinguino"),
+                Tokenizador.tokenizar("¿Validación de JWT en el AÑO del pingüino?"));
+    }
+
+    @Test
+    void coincidenciaEnElTituloPesaMasQueEnElMensaje() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(1, "Duda sobre Spring", "¿Cómo configuro la autenticación?");
+        indice.indexar(2, "Autenticación con JWT", "No logro validar el token");
+        indice.indexar(3, "Flyway", "Migraciones en MySQL");
+
+        List<ResultadoBusqueda> resultados = indice.buscar("autenticacion", 10);
+
+        assertEquals(List.of(2L, 1L), resultados.stream().map(ResultadoBusqueda::id).toList());
+    }
+
+    @Test
+    void aIgualPuntajeGananLosIdsMayores() {
+        IndiceInvertido indice = new IndiceInvertido();
+        for (long id = 1; id <= 5; id++) {
+            indice.indexar(id, "Flyway", "Migraciones en MySQL");
+        }
+
+        List<ResultadoBusqueda> resultados = indice.buscar("flyway", 3);
+
+        assertEquals(List.of(5L, 4L, 3L), resultados.stream().map(ResultadoBusqueda::id).toList());
+    }
+
+    @Test
+    void reindexarYEliminarActualizanLasListas() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.indexar(1, "Spring Security", "filtros");
+        indice.indexar(2, "Spring Data", "repositorios");
+
+        indice.indexar(1, "Hibernate", "filtros");
+        indice.eliminar(2);
+
+        assertTrue(indice.buscar("spring", 10).isEmpty());
+        assertEquals(1L, indice.buscar("hibernate", 10).get(0).id());
+        assertEquals(1, indice.cantidadDocumentos());
+    }
+}
@@ -0,0 +1,119 @@
+package alura.desafio.foro.service.feed;
+
+import alura.desafio.foro.repository.RegistroEventoTopicoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+// Un solo hilo de envío: sin el límite por envío, el cliente que no lee lo retiene y el otro no recibe nada.
+class FeedTopicosTest {
+
+    private final CountDownLatch liberarLento = new CountDownLatch(1);
+    private final CountDownLatch lentoEnviando = new CountDownLatch(1);
+    private final CountDownLatch lentoCompletado = new CountDownLatch(1);
+    private final CountDownLatch sanoRecibioPendientes = new CountDownLatch(2);
+    private final CountDownLatch sanoRecibioTodo = new CountDownLatch(5);
+
+    private FeedTopicos feed;
+    private SseEmitter siguiente;
+
+    @BeforeEach
+    void setUp() {
+        feed = new FeedTopicos() {
+            @Override
+            SseEmitter crearEmitter(long timeout) {
+                return siguiente;
+            }
+        };
+        ReflectionTestUtils.setField(feed, "registroEventoTopicoRepository",
+                mock(RegistroEventoTopicoRepository.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(feed, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(feed, "capacidadBuffer", 4);
+        ReflectionTestUtils.setField(feed, "maxSuscriptores", 10);
+        ReflectionTestUtils.setField(feed, "maxReanudacion", 10);
+        ReflectionTestUtils.setField(feed, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(feed, "hilosEnvio", 1);
+        ReflectionTestUtils.setField(feed, "timeoutEnvioMs", 50L);
+        ReflectionTestUtils.invokeMethod(feed, "inicializar");
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberarLento.countDown();
+        ReflectionTestUtils.invokeMethod(feed, "cerrar");
+    }
+
+    @Test
+    void unClienteQueNoLeeSeDescartaSinFrenarAlResto() throws Exception {
+        siguiente = new EmitterLento();
+        feed.suscribir(null);
+        feed.publicar(eventos(1, 1));
+        assertTrue(lentoEnviando.await(5, TimeUnit.SECONDS));
+
+        siguiente = new EmitterSano();
+        feed.suscribir(null);
+        feed.publicar(eventos(2, 3));
+
+        Thread.sleep(100);
+        feed.revisarEnvios();
+
+        // El sano recibe lo que esperaba en su buffer y lo que se publica después.
+        assertTrue(sanoRecibioPendientes.await(5, TimeUnit.SECONDS));
+        feed.publicar(eventos(4, 6));
+        assertTrue(sanoRecibioTodo.await(5, TimeUnit.SECONDS), "quedan " + sanoRecibioTodo.getCount());
+        assertEquals(1, feed.getDescartados());
+        assertEquals(1, feed.getSuscriptores());
+
+        // El envío bloqueado termina cuando falla la escritura; entonces se completa su emitter.
+        liberarLento.countDown();
+        assertTrue(lentoCompletado.await(5, TimeUnit.SECONDS));
+    }
+
+    private static List<EventoFeed> eventos(long desde, long hasta) {
+        return LongStream.rangeClosed(desde, hasta)
+                .mapToObj(secuencia -> new EventoFeed(secuencia, "CREADO", "{}"))
+                .toList();
+    }
+
+    private class EmitterLento extends SseEmitter {
+
+        @Override
+        public void send(SseEventBuilder evento) throws IOException {
+            lentoEnviando.countDown();
+            try {
+                liberarLento.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Escritura vencida");
+        }
+
+        @Override
+        public void complete() {
+            lentoCompletado.countDown();
+        }
+    }
+
+    private class EmitterSano extends SseEmitter {
+
+        @Override
+        public void send(SseEventBuilder evento) {
+            sanoRecibioPendientes.countDown();
+            sanoRecibioTodo.countDown();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package alura.desafio.foro.service.feed;
+
+import alura.desafio.foro.carga.MigracionesH2;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.UnsupportedEncodingException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Relay del outbox y GET /topicos/feed sobre la aplicación completa, con H2 en modo MySQL. El relay solo corre al
+// arrancar y cuando la prueba lo despierta; las filas del outbox se insertan a mano para fijar ids y fechas.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:relay_feed;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "topicos.feed.relay-ms=3600000",
+        "topicos.feed.max-reanudacion=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("carga")
+class RelayFeedTopicosTest {
+
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        FlywayConfigurationCustomizer migracionesH2() {
+            return configuracion -> configuracion.resourceProvider(new MigracionesH2());
+        }
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private RelayFeedTopicos relay;
+
+    @BeforeEach
+    void vaciarOutbox() {
+        jdbc.update("DELETE FROM eventos_topicos");
+    }
+
+    // Dos instancias con bloques de ids distintos: el evento insertado primero tiene el id mayor.
+    @Test
+    void numeraLosPendientesEnOrdenDeInsercionYNoPorId() throws Exception {
+        long ultima = ultimaSecuencia();
+        MockHttpServletResponse feed = suscribir(ultima);
+
+        LocalDateTime ahora = LocalDateTime.now();
+        insertar(1_000_100L, ahora, null);
+        insertar(1_000_050L, ahora.plusSeconds(1), null);
+        relay.alCambiarTopico(null);
+
+        String eventos = esperarContenido(feed, "id:" + (ultima + 2));
+        assertEquals(ultima + 1, secuenciaDe(1_000_100L));
+        assertEquals(ultima + 2, secuenciaDe(1_000_050L));
+        assertTrue(eventos.indexOf("\"topico\":1000100") < eventos.indexOf("\"topico\":1000050"), eventos);
+    }
+
+    @Test
+    void alReanudarSeEnviaLoPosteriorALastEventId() throws Exception {
+        long ultima = ultimaSecuencia();
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int i = 1; i <= 3; i++) {
+            insertar(2_000_000L + i, ahora, ultima + i);
+        }
+        fijarUltimaSecuencia(ultima + 3);
+
+        String eventos = esperarContenido(suscribir(ultima + 1), "id:" + (ultima + 3));
+
+        assertFalse(eventos.contains("id:" + (ultima + 1) + "\n"), eventos);
+        assertTrue(eventos.indexOf("id:" + (ultima + 2)) < eventos.indexOf("id:" + (ultima + 3)), eventos);
+        assertFalse(eventos.contains("REINICIO"), eventos);
+    }
+
+    @Test
+    void siFaltanMasEventosDeLosPermitidosSeEnviaReinicio() throws Exception {
+        long ultima = ultimaSecuencia();
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int i = 1; i <= 4; i++) {
+            insertar(3_000_000L + i, ahora, ultima + i);
+        }
+        fijarUltimaSecuencia(ultima + 4);
+
+        String eventos = esperarContenido(suscribir(ultima), "event:REINICIO");
+
+        assertTrue(eventos.contains("id:" + (ultima + 4)), eventos);
+        assertFalse(eventos.contains("event:CREADO"), eventos);
+    }
+
+    private MockHttpServletResponse suscribir(long ultimoEventoId) throws Exception {
+        return mvc.perform(get("/topicos/feed")
+                        .header("Last-Event-ID", ultimoEventoId)
+                        .with(user("ana@example.com")))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static String esperarContenido(MockHttpServletResponse respuesta, String esperado)
+            throws InterruptedException, UnsupportedEncodingException {
+        long limite = System.currentTimeMillis() + 5000;
+        String contenido = respuesta.getContentAsString();
+        while (!contenido.contains(esperado) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            contenido = respuesta.getContentAsString();
+        }
+        assertTrue(contenido.contains(esperado), contenido);
+        return contenido;
+    }
+
+    private void insertar(long id, LocalDateTime fechaRegistro, Long secuencia) {
+        jdbc.update("INSERT INTO eventos_topicos (id, tipo, topico_id, datos, fecha_creacion, fecha_registro, secuencia) "
+                        + "VALUES (?, 'CREADO', ?, ?, CURRENT_TIMESTAMP, ?, ?)",
+                id, id, "{\"topico\":" + id + "}", Timestamp.valueOf(fechaRegistro), secuencia);
+    }
+
+    private long ultimaSecuencia() {
+        return jdbc.queryForObject(
+                "SELECT siguiente_valor FROM generador_ids WHERE entidad = 'eventos_topicos_secuencia'", Long.class);
+    }
+
+    private void fijarUltimaSecuencia(long secuencia) {
+        jdbc.update("UPDATE generador_ids SET siguiente_valor = ? WHERE entidad = 'eventos_topicos_secuencia'", secuencia);
+    }
+
+    private long secuenciaDe(long id) {
+        List<Long> secuencias = jdbc.queryForList("SELECT secuencia FROM eventos_topicos WHERE id = ?", Long.class, id);
+        return secuencias.get(0);
+    }
+}
@@ -0,0 +1,109 @@
+package alura.desafio.foro.service.importacion;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.domain.topico.DatosResultadoLoteTopico;
+import alura.desafio.foro.service.LoteTopicosService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+// Lotes de 2: el del medio falla entero y el reporte sigue hasta FIN.
+class ImportacionTopicosServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<DatosRegistroTopico>> lotes = new ArrayList<>();
+    private ImportacionTopicosService servicio;
+
+    @BeforeEach
+    void setUp() {
+        LoteTopicosService loteTopicosService = mock(LoteTopicosService.class, withSettings().stubOnly());
+        when(loteTopicosService.registrar(anyList())).thenAnswer(invocacion -> {
+            List<DatosRegistroTopico> lote = List.copyOf(invocacion.getArgument(0));
+            lotes.add(lote);
+            if (lote.get(0).titulo().equals("T3")) {
+                throw new DataAccessResourceFailureException("Se perdió la conexión");
+            }
+            return IntStream.range(0, lote.size())
+                    .mapToObj(indice -> lote.get(indice).titulo().equals("T5")
+                            ? DatosResultadoLoteTopico.duplicado(indice)
+                            : DatosResultadoLoteTopico.creado(indice, (long) indice))
+                    .toList();
+        });
+
+        servicio = new ImportacionTopicosService();
+        ReflectionTestUtils.setField(servicio, "loteTopicosService", loteTopicosService);
+        ReflectionTestUtils.setField(servicio, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(servicio, "tamanoLote", 2);
+        ReflectionTestUtils.setField(servicio, "maxCaracteresRegistro", 1000);
+    }
+
+    @Test
+    void unLoteQueNoSePuedeGuardarSeInformaComoFallidoYSeSigue() throws IOException {
+        String ndjson = "\uFEFF" + registro("T1") + registro("T2") + "{roto\n" + registro("T3") + registro("T4")
+                + registro("T5") + registro("T6");
+
+        List<JsonNode> reporte = importar(ndjson, false);
+
+        assertEquals(List.of("T1", "T2", "T3", "T4", "T5", "T6"),
+                lotes.stream().flatMap(List::stream).map(DatosRegistroTopico::titulo).toList());
+        assertEquals(List.of("AVANCE", "ERROR", "ERROR", "ERROR", "AVANCE", "ERROR", "AVANCE", "FIN"),
+                reporte.stream().map(linea -> linea.get("tipo").asText()).toList());
+
+        assertEquals(3, reporte.get(1).get("linea").asLong());
+        assertEquals("INVALIDO", reporte.get(1).get("resultado").asText());
+        assertEquals(List.of(4L, 5L), List.of(reporte.get(2).get("linea").asLong(), reporte.get(3).get("linea").asLong()));
+        assertEquals("FALLIDO", reporte.get(2).get("resultado").asText());
+        assertEquals("FALLIDO", reporte.get(3).get("resultado").asText());
+        assertEquals(6, reporte.get(5).get("linea").asLong());
+        assertEquals("DUPLICADO", reporte.get(5).get("resultado").asText());
+
+        JsonNode fin = reporte.get(7);
+        assertEquals(7, fin.get("procesados").asLong());
+        assertEquals(3, fin.get("creados").asLong());
+        assertEquals(1, fin.get("duplicados").asLong());
+        assertEquals(1, fin.get("invalidos").asLong());
+        assertEquals(2, fin.get("fallidos").asLong());
+    }
+
+    @Test
+    void elCsvPasaPorLosMismosLotes() throws IOException {
+        List<JsonNode> reporte = importar("titulo,mensaje,autor,curso\nT1,M1,Ana,Spring\nT2,M2,Ana,Spring\nT4,M4,Ana,Spring\n", true);
+
+        assertEquals(2, lotes.size());
+        assertEquals(List.of("AVANCE", "AVANCE", "FIN"), reporte.stream().map(linea -> linea.get("tipo").asText()).toList());
+        assertEquals(3, reporte.get(2).get("creados").asLong());
+    }
+
+    private List<JsonNode> importar(String archivo, boolean csv) throws IOException {
+        LectorRegistros lector = servicio.crearLector(new ByteArrayInputStream(archivo.getBytes(StandardCharsets.UTF_8)), csv);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        servicio.importar(lector, salida);
+
+        List<JsonNode> lineas = new ArrayList<>();
+        for (String linea : salida.toString(StandardCharsets.UTF_8).split("\n")) {
+            lineas.add(objectMapper.readTree(linea));
+        }
+        return lineas;
+    }
+
+    private static String registro(String titulo) {
+        return "{\"titulo\":\"" + titulo + "\",\"mensaje\":\"M\",\"autor\":\"Ana\",\"curso\":\"Spring\"}\n";
+    }
+}
@@ -0,0 +1,93 @@
+package alura.desafio.foro.service.importacion;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import alura.desafio.foro.infra.exception.SolicitudInvalidaException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectorCsvTest {
+
+    private static final int MAX_CARACTERES = 100;
+
+    @Test
+    void camposEntreComillasAdmitenComasSaltosDeLineaYComillasEscapadas() throws IOException {
+        List<RegistroLeido> registros = leer("titulo,mensaje,autor,curso\n"
+                + "\"Hola, mundo\",\"Primera línea\nsegunda \"\"con comillas\"\"\",Ana,Spring\n"
+                + "Sin comillas,Texto,Luis,Java\n");
+
+        assertEquals(2, registros.size());
+        assertEquals(new DatosRegistroTopico("Hola, mundo", "Primera línea\nsegunda \"con comillas\"", "Ana", "Spring"),
+                registros.get(0).datos());
+        assertEquals(2, registros.get(0).linea());
+        assertEquals(new DatosRegistroTopico("Sin comillas", "Texto", "Luis", "Java"), registros.get(1).datos());
+        assertEquals(4, registros.get(1).linea());
+    }
+
+    @Test
+    void losFinesDeLineaCrlfNoQuedanEnLosCampos() throws IOException {
+        List<RegistroLeido> registros = leer("titulo,mensaje,autor,curso\r\nT1,M1,Ana,Spring\r\n\"T2\",\"M2\",Luis,Java\r\n");
+
+        assertEquals(List.of(new DatosRegistroTopico("T1", "M1", "Ana", "Spring"),
+                new DatosRegistroTopico("T2", "M2", "Luis", "Java")), datos(registros));
+    }
+
+    @Test
+    void seIgnoraElBomYLasColumnasPuedenVenirEnOtroOrden() throws IOException {
+        List<RegistroLeido> registros = leer("\uFEFFTitulo,curso,autor,mensaje\nT1,Spring,Ana,M1\n");
+
+        assertEquals(List.of(new DatosRegistroTopico("T1", "M1", "Ana", "Spring")), datos(registros));
+    }
+
+    @Test
+    void unRegistroDemasiadoLargoSeInformaYSeSigueConElSiguiente() throws IOException {
+        List<RegistroLeido> registros = leer("titulo,mensaje,autor,curso\n"
+                + "T1," + "x".repeat(MAX_CARACTERES) + ",Ana,Spring\n"
+                + "T2,M2,Luis,Java\n");
+
+        assertEquals(2, registros.size());
+        assertNull(registros.get(0).datos());
+        assertNotNull(registros.get(0).error());
+        assertEquals(new DatosRegistroTopico("T2", "M2", "Luis", "Java"), registros.get(1).datos());
+    }
+
+    // Cada "" son dos caracteres de la entrada: un campo hecho solo de comillas escapadas también tiene límite.
+    @Test
+    void lasComillasEscapadasCuentanParaElLimite() throws IOException {
+        String comillas = "\"" + "\"\"".repeat(MAX_CARACTERES / 2) + "\"";
+        List<RegistroLeido> registros = leer("titulo,mensaje,autor,curso\n"
+                + "T1," + comillas + ",Ana,Spring\n"
+                + "T2,\"\"\"\"\"\",Luis,Java\n");
+
+        assertEquals(2, registros.size());
+        assertNull(registros.get(0).datos());
+        assertNotNull(registros.get(0).error());
+        assertEquals(new DatosRegistroTopico("T2", "\"\"", "Luis", "Java"), registros.get(1).datos());
+    }
+
+    @Test
+    void sinCabeceraCompletaSeRechazaElArchivo() {
+        assertThrows(SolicitudInvalidaException.class, () -> leer(""));
+        assertThrows(SolicitudInvalidaException.class, () -> leer("titulo,mensaje,autor\nT1,M1,Ana\n"));
+    }
+
+    private static List<RegistroLeido> leer(String csv) throws IOException {
+        LectorCsv lector = new LectorCsv(new BufferedReader(new StringReader(csv)), MAX_CARACTERES);
+        List<RegistroLeido> registros = new ArrayList<>();
+        RegistroLeido registro;
+        while ((registro = lector.siguiente()) != null) {
+            registros.add(registro);
+        }
+        return registros;
+    }
+
+    private static List<DatosRegistroTopico> datos(List<RegistroLeido> registros) {
+        return registros.stream().map(RegistroLeido::datos).toList();
+    }
+}
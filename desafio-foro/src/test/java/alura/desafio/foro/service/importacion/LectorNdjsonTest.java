@@ -0,0 +1,75 @@
+package alura.desafio.foro.service.importacion;
+
+import alura.desafio.foro.domain.topico.DatosRegistroTopico;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectorNdjsonTest {
+
+    private static final int MAX_CARACTERES = 100;
+
+    @Test
+    void unObjetoPorLineaConSuNumeroDeLineaYSinLasLineasEnBlanco() throws IOException {
+        List<RegistroLeido> registros = leer("""
+                {"titulo":"T1","mensaje":"M1","autor":"Ana","curso":"Spring"}
+
+                {"titulo":"T2","mensaje":"M2","autor":"Luis","curso":"Java"}
+                """);
+
+        assertEquals(List.of(new DatosRegistroTopico("T1", "M1", "Ana", "Spring"),
+                new DatosRegistroTopico("T2", "M2", "Luis", "Java")), datos(registros));
+        assertEquals(List.of(1L, 3L), registros.stream().map(RegistroLeido::linea).toList());
+    }
+
+    @Test
+    void seIgnoraElBomYLosFinesDeLineaCrlf() throws IOException {
+        List<RegistroLeido> registros = leer("\uFEFF{\"titulo\":\"T1\",\"mensaje\":\"M1\",\"autor\":\"Ana\",\"curso\":\"Spring\"}\r\n"
+                + "{\"titulo\":\"T2\",\"mensaje\":\"M2\",\"autor\":\"Luis\",\"curso\":\"Java\"}");
+
+        assertEquals(List.of(new DatosRegistroTopico("T1", "M1", "Ana", "Spring"),
+                new DatosRegistroTopico("T2", "M2", "Luis", "Java")), datos(registros));
+    }
+
+    @Test
+    void unaLineaMalFormadaODemasiadoLargaSeInformaYSeSigueConLaSiguiente() throws IOException {
+        List<RegistroLeido> registros = leer("{\"titulo\":\n"
+                + "{\"titulo\":\"" + "x".repeat(MAX_CARACTERES) + "\"}\n"
+                + "{\"titulo\":\"T3\",\"mensaje\":\"M3\",\"autor\":\"Ana\",\"curso\":\"Spring\"}\n");
+
+        assertEquals(3, registros.size());
+        assertNull(registros.get(0).datos());
+        assertTrue(registros.get(0).error().startsWith("JSON mal formado"));
+        assertNull(registros.get(1).datos());
+        assertEquals("La línea supera los " + MAX_CARACTERES + " caracteres.", registros.get(1).error());
+        assertEquals(new DatosRegistroTopico("T3", "M3", "Ana", "Spring"), registros.get(2).datos());
+        assertEquals(3, registros.get(2).linea());
+    }
+
+    @Test
+    void unArchivoVacioNoTieneRegistros() throws IOException {
+        assertEquals(List.of(), leer(""));
+        assertEquals(List.of(), leer("\uFEFF"));
+    }
+
+    private static List<RegistroLeido> leer(String ndjson) throws IOException {
+        LectorNdjson lector = new LectorNdjson(new BufferedReader(new StringReader(ndjson)), new ObjectMapper(), MAX_CARACTERES);
+        List<RegistroLeido> registros = new ArrayList<>();
+        RegistroLeido registro;
+        while ((registro = lector.siguiente()) != null) {
+            registros.add(registro);
+        }
+        return registros;
+    }
+
+    private static List<DatosRegistroTopico> datos(List<RegistroLeido> registros) {
+        return registros.stream().map(RegistroLeido::datos).toList();
+    }
+}
@@ -0,0 +1,12 @@
+-- Versión H2 de db/migration/V1: H2 no admite índices sobre un prefijo de columna (mensaje(255)).
+-- El índice unique_titulo_mensaje se omite; V4 lo reemplaza por uk_topicos_hash_contenido.
+CREATE TABLE topicos (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    titulo VARCHAR(255) NOT NULL,
+    mensaje TEXT NOT NULL,
+    fecha_creacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    status VARCHAR(50) NOT NULL DEFAULT 'ACTIVO',
+    autor VARCHAR(255) NOT NULL,
+    curso VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
\ No newline at end of file
@@ -0,0 +1,5 @@
+-- Versión H2 de db/migration/V4: la base arranca vacía, así que no hay hashes que calcular con SHA2
+-- (que H2 no tiene) ni índice unique_titulo_mensaje que borrar (ver V1 de esta carpeta).
+ALTER TABLE topicos ADD COLUMN hash_contenido CHAR(64) NULL;
+
+CREATE UNIQUE INDEX uk_topicos_hash_contenido ON topicos (hash_contenido);
\ No newline at end of file